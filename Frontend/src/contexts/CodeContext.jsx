@@ -188,7 +188,8 @@ export const CodeProvider = ({ children }) => {
             const response = await axios.get(`${BACKEND_URL}/search`, {
                 params: { query },
             });
-            setContests(Array.isArray(response.data) ? [...response.data].reverse() : response.data);
+            // Results arrive ranked by relevance
+            setContests(response.data);
         } catch (err) {
             setError(err);
         } finally {
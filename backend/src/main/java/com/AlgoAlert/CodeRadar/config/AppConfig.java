@@ -1,23 +1,47 @@
 package com.AlgoAlert.CodeRadar.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
 
 @Configuration
 @EnableCaching
 public class AppConfig {
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    // Caffeine specs per cache; each is size-bounded (W-TinyLFU eviction) and records stats
+    @Value("${cache.contests.spec:maximumSize=1000,expireAfterWrite=30m,recordStats}")
+    private String contestsCacheSpec;
+
+    @Value("${cache.potd.spec:maximumSize=16,expireAfterWrite=1h,recordStats}")
+    private String potdCacheSpec;
+
+    @Value("${cache.analytics.spec:maximumSize=5000,expireAfterWrite=10m,recordStats}")
+    private String analyticsCacheSpec;
+
+    // Boot's application executor, on virtual threads: shared by MVC async requests and fan-out I/O work
+    @Bean(name = "applicationTaskExecutor")
+    public SimpleAsyncTaskExecutor applicationTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("app-vt-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(5000);
+        return executor;
     }
-    
+
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("contests");
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; unknown names fail instead of growing unbounded
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache("contests", Caffeine.from(contestsCacheSpec).build());
+        cacheManager.registerCustomCache("potd", Caffeine.from(potdCacheSpec).build());
+        cacheManager.registerCustomCache("analytics", Caffeine.from(analyticsCacheSpec).build());
+        return cacheManager;
     }
 }
@@ -0,0 +1,87 @@
+package com.AlgoAlert.CodeRadar.config;
+
+import com.AlgoAlert.CodeRadar.util.HostConcurrencyLimiter;
+import com.AlgoAlert.CodeRadar.util.IdempotentRetryInterceptor;
+import com.AlgoAlert.CodeRadar.util.OutboundHttpMetrics;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one outbound HTTP client used for every platform, clist.by and OpenRouter call.
+ * Sharing it means one connection pool with keep-alive per host, so TLS handshakes are reused across
+ * services. HTTP/2 is negotiated where the server offers it, and gzip is requested and decoded transparently.
+ * Concurrent requests are capped per host.
+ * Services that need different timeouts derive a client with newBuilder(), which keeps the same pool.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${http.client.read-timeout-ms:10000}")
+    private long readTimeoutMillis;
+
+    // Upper bound for a whole call, retries included
+    @Value("${http.client.call-timeout-ms:30000}")
+    private long callTimeoutMillis;
+
+    @Value("${http.client.pool.max-idle:20}")
+    private int maxIdleConnections;
+
+    @Value("${http.client.pool.keep-alive-ms:300000}")
+    private long keepAliveMillis;
+
+    // Concurrent requests per host, and how long a request waits for a free slot
+    @Value("${http.client.max-requests-per-host:16}")
+    private int maxRequestsPerHost;
+
+    @Value("${http.client.max-wait-ms:5000}")
+    private long maxWaitMillis;
+
+    // Retries for GET/HEAD after I/O errors and 502/503/504
+    @Value("${http.client.max-retries:1}")
+    private int maxRetries;
+
+    @Value("${http.client.retry-backoff-ms:200}")
+    private long retryBackoffMillis;
+
+    @Bean
+    public OutboundHttpMetrics outboundHttpMetrics() {
+        return new OutboundHttpMetrics();
+    }
+
+    @Bean
+    public HostConcurrencyLimiter hostConcurrencyLimiter() {
+        return new HostConcurrencyLimiter(maxRequestsPerHost, maxWaitMillis);
+    }
+
+    @Bean
+    public OkHttpClient okHttpClient(OutboundHttpMetrics outboundHttpMetrics, HostConcurrencyLimiter hostConcurrencyLimiter) {
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                .callTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                // Retry outermost so each attempt takes its own host slot and is measured separately
+                .addInterceptor(new IdempotentRetryInterceptor(maxRetries, retryBackoffMillis))
+                .addInterceptor(hostConcurrencyLimiter)
+                .addInterceptor(outboundHttpMetrics)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(OkHttpClient okHttpClient) {
+        return new RestTemplate(new OkHttpClientHttpRequestFactory(okHttpClient));
+    }
+}
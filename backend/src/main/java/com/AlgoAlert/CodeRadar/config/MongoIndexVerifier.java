@@ -0,0 +1,107 @@
+package com.AlgoAlert.CodeRadar.config;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks at startup that every index declared on the @Document models exists in Mongo.
+ * Spring Data only creates annotated indexes when auto-index-creation is on, and it is off by default,
+ * so a missing index would otherwise only show up as a slow collection scan. With
+ * app.mongo.ensure-indexes (the default) missing indexes are created and indexes replaced by newer
+ * definitions are dropped. Without it, both are only reported.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoIndexVerifier implements ApplicationRunner {
+
+    // Indexes superseded by a newer definition, per collection
+    private static final Map<String, Set<String>> OBSOLETE_INDEXES = Map.of(
+            // Replaced by userId_contestId_leadMinutes; would reject a second reminder for the same contest
+            "email_notifications", Set.of("userId_contestId", "userId", "status_nextAttemptAt"),
+            // The platformKey field is gone; platform reads are answered by the in-memory ContestIndex
+            "contests", Set.of("platformKey_startTime"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.mongo.ensure-indexes:true}")
+    private boolean ensureIndexes;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        List<String> missing = new ArrayList<>();
+        List<String> obsolete = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mongoTemplate.getConverter().getMappingContext().getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            try {
+                verify(entity, resolver, missing, obsolete);
+            } catch (Exception e) {
+                System.err.println("Error verifying indexes on " + entity.getCollection() + ": " + e.getMessage());
+            }
+        }
+
+        if (missing.isEmpty() && obsolete.isEmpty()) {
+            System.out.println("All declared Mongo indexes are present");
+        } else if (ensureIndexes) {
+            System.out.println("Mongo indexes created: " + missing + ", dropped: " + obsolete);
+        } else {
+            System.err.println("Missing Mongo indexes: " + missing + "; obsolete Mongo indexes: " + obsolete
+                    + ". Enable app.mongo.ensure-indexes or create them by hand.");
+        }
+    }
+
+    private void verify(MongoPersistentEntity<?> entity, MongoPersistentEntityIndexResolver resolver,
+                        List<String> missing, List<String> obsolete) {
+        String collection = entity.getCollection();
+        IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+        List<Document> existing = mongoTemplate.getCollection(collection).listIndexes().into(new ArrayList<>());
+
+        // Obsolete ones first: a replacement may clash with the index it replaces
+        for (String name : OBSOLETE_INDEXES.getOrDefault(collection, Set.of())) {
+            if (existing.stream().anyMatch(index -> name.equals(index.getString("name")))) {
+                obsolete.add(collection + "." + name);
+                if (ensureIndexes) {
+                    indexOps.dropIndex(name);
+                }
+            }
+        }
+
+        for (IndexDefinition definition : resolver.resolveIndexFor(entity.getType())) {
+            Object name = definition.getIndexOptions().get("name");
+            boolean present = existing.stream().anyMatch(index -> definition.getIndexKeys().equals(index.get("key"))
+                    && (name == null || name.equals(index.getString("name"))));
+            if (present) {
+                continue;
+            }
+            missing.add(collection + "." + (name != null ? name : definition.getIndexKeys().toJson()));
+            if (ensureIndexes) {
+                try {
+                    indexOps.createIndex(definition);
+                } catch (Exception e) {
+                    System.err.println("Could not create index " + name + " on " + collection + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.AlgoAlert.CodeRadar.config;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Lets RestTemplate send its requests through the shared OkHttpClient, so they use the same pool,
+ * interceptors and metrics as direct OkHttp calls. Request bodies are buffered; every body sent in
+ * this app is a small JSON document. Spring's own OkHttp3ClientHttpRequestFactory is deprecated for removal.
+ */
+public class OkHttpClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    // OkHttp rejects these methods without a body, even an empty one
+    private static final Set<HttpMethod> BODY_REQUIRED = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH);
+
+    private final OkHttpClient client;
+
+    public OkHttpClientHttpRequestFactory(OkHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new OkHttpClientHttpRequest(client, uri, httpMethod);
+    }
+
+    private static final class OkHttpClientHttpRequest extends AbstractClientHttpRequest {
+
+        private final OkHttpClient client;
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        private OkHttpClientHttpRequest(OkHttpClient client, URI uri, HttpMethod method) {
+            this.client = client;
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            byte[] content = body.toByteArray();
+            RequestBody requestBody = null;
+            if (content.length > 0 || BODY_REQUIRED.contains(method)) {
+                okhttp3.MediaType contentType = headers.getContentType() != null
+                        ? okhttp3.MediaType.parse(headers.getContentType().toString())
+                        : null;
+                requestBody = RequestBody.create(content, contentType);
+            }
+
+            Request.Builder builder = new Request.Builder()
+                    .url(uri.toURL())
+                    .method(method.name(), requestBody);
+            headers.forEach((name, values) -> values.forEach(value -> builder.addHeader(name, value)));
+            return new OkHttpClientHttpResponse(client.newCall(builder.build()).execute());
+        }
+    }
+
+    private static final class OkHttpClientHttpResponse implements ClientHttpResponse {
+
+        private final Response response;
+        private HttpHeaders headers;
+
+        private OkHttpClientHttpResponse(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.code());
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.message();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders copy = new HttpHeaders();
+                response.headers().toMultimap().forEach(copy::addAll);
+                headers = copy;
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            ResponseBody body = response.body();
+            return body != null ? body.byteStream() : InputStream.nullInputStream();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
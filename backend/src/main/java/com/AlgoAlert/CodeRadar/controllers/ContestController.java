@@ -1,5 +1,8 @@
 package com.AlgoAlert.CodeRadar.controllers;
 
+import com.AlgoAlert.CodeRadar.dto.ContestSearchPage;
+import com.AlgoAlert.CodeRadar.dto.ContestStats;
+import com.AlgoAlert.CodeRadar.dto.ContestUpsertResult;
 import com.AlgoAlert.CodeRadar.model.Contest;
 import com.AlgoAlert.CodeRadar.services.ContestService;
 import com.AlgoAlert.CodeRadar.services.ContestFetcherService;
@@ -21,6 +24,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class ContestController {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     @Autowired
     private ContestService contestService;
 
@@ -124,11 +129,15 @@ public class ContestController {
     public ResponseEntity<Map<String, Object>> refreshContests() {
         try {
             System.out.println("Manual contest refresh requested at: " + LocalDateTime.now());
-            List<Contest> fetchedContests = contestFetcherService.fetchContestsManually();
+            ContestUpsertResult upsertResult = contestFetcherService.fetchContestsManually();
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Contests refreshed successfully from clist.by API");
-            response.put("fetchedCount", fetchedContests.size());
+            response.put("fetchedCount", upsertResult.getTotal());
+            response.put("inserted", upsertResult.getInserted());
+            response.put("updated", upsertResult.getUpdated());
+            response.put("unchanged", upsertResult.getUnchanged());
+            response.put("platformFetchTimesMs", contestFetcherService.getLastFetchTimings());
             response.put("timestamp", LocalDateTime.now());
             response.put("source", "clist.by API");
 
@@ -193,12 +202,15 @@ public class ContestController {
             }
 
             // Save the fetched contests
-            contestService.saveContests(fetchedContests);
+            ContestUpsertResult upsertResult = contestService.saveContests(fetchedContests);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Contests refreshed successfully for " + platform + " from clist.by API");
             response.put("platform", platform);
             response.put("fetchedCount", fetchedContests.size());
+            response.put("inserted", upsertResult.getInserted());
+            response.put("updated", upsertResult.getUpdated());
+            response.put("unchanged", upsertResult.getUnchanged());
             response.put("timestamp", LocalDateTime.now());
             response.put("source", "clist.by API");
 
@@ -216,26 +228,14 @@ public class ContestController {
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getContestStats() {
         try {
+            ContestStats contestStats = contestService.getContestStats();
+
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalContests", contestService.getTotalContestCount());
-            stats.put("upcomingContests", contestService.getUpcomingContestCount());
-            stats.put("activeContests", contestService.getActiveContestCount());
-
-            // Get count by platform
-            Map<String, Long> platformCounts = new HashMap<>();
-            platformCounts.put("Codeforces", contestService.getContestCountByPlatform("Codeforces"));
-            platformCounts.put("CodeChef", contestService.getContestCountByPlatform("CodeChef"));
-            platformCounts.put("AtCoder", contestService.getContestCountByPlatform("AtCoder"));
-            platformCounts.put("LeetCode", contestService.getContestCountByPlatform("LeetCode"));
-            platformCounts.put("HackerRank", contestService.getContestCountByPlatform("HackerRank"));
-            platformCounts.put("HackerEarth", contestService.getContestCountByPlatform("HackerEarth"));
-            platformCounts.put("GeeksforGeeks", contestService.getContestCountByPlatform("GeeksforGeeks"));
-            platformCounts.put("CS Academy", contestService.getContestCountByPlatform("CS Academy"));
-            platformCounts.put("TopCoder", contestService.getContestCountByPlatform("TopCoder"));
-            platformCounts.put("Naukri Code360", contestService.getContestCountByPlatform("Naukri Code360"));
-            platformCounts.put("CodinGame", contestService.getContestCountByPlatform("CodinGame"));
-
-            stats.put("platformCounts", platformCounts);
+            stats.put("totalContests", contestStats.getTotalContests());
+            stats.put("upcomingContests", contestStats.getUpcomingContests());
+            stats.put("activeContests", contestStats.getActiveContests());
+            // Platforms come from the stored contests rather than a fixed list
+            stats.put("platformCounts", contestStats.getPlatformCounts());
             stats.put("timestamp", LocalDateTime.now());
             stats.put("dataSource", "clist.by API");
 
@@ -259,16 +259,20 @@ public class ContestController {
         }
     }
 
-    // Search contests by name
+    // Search contests by name or platform, best match first; the total match count is in X-Total-Count.
+    // Without a size every match is returned, as before paging existed; with one, results come a page at a time.
     @GetMapping("/search")
-    public ResponseEntity<List<Contest>> searchContests(@RequestParam String query) {
+    @CrossOrigin(exposedHeaders = "X-Total-Count")
+    public ResponseEntity<List<Contest>> searchContests(@RequestParam String query,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(required = false) Integer size) {
         try {
-            List<Contest> allContests = contestService.getAllContests();
-            List<Contest> filteredContests = allContests.stream()
-                    .filter(contest -> contest.getName().toLowerCase().contains(query.toLowerCase()))
-                    .toList();
-
-            return ResponseEntity.ok(filteredContests);
+            ContestSearchPage result = size == null
+                    ? contestService.searchContests(query)
+                    : contestService.searchContests(query, Math.max(page, 0), Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE));
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(result.getTotalResults()))
+                    .body(result.getContests());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
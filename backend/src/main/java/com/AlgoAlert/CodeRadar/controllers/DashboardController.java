@@ -1,10 +1,13 @@
 package com.AlgoAlert.CodeRadar.controllers;
 
+import com.AlgoAlert.CodeRadar.enums.HandleVerificationStatus;
 import com.AlgoAlert.CodeRadar.model.Contest;
 import com.AlgoAlert.CodeRadar.model.ContestPerformance;
 import com.AlgoAlert.CodeRadar.model.User;
 import com.AlgoAlert.CodeRadar.services.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,6 +15,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,55 +37,139 @@ public class DashboardController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    // Deadline for each Mongo-backed overview section
+    @Value("${dashboard.section-deadline-ms:1500}")
+    private long sectionDeadlineMillis;
+
+    // Deadline for each platform registration check; third-party sites are the slow part
+    @Value("${dashboard.platform-deadline-ms:2500}")
+    private long platformDeadlineMillis;
+
     /**
-     * Get user's dashboard data
+     * Get user's dashboard data.
+     * Sections load in parallel, each under its own deadline, and the response is built from whatever
+     * finished in time. sectionStatus reports each section as ok, timeout or error. Platforms whose
+     * check ran past the deadline are listed in timedOutPlatforms, and platforms that could not be
+     * reached at all (down, circuit open) in unreachablePlatforms, instead of being reported as unregistered.
      */
     @GetMapping("/overview")
-    public ResponseEntity<?> getDashboardOverview() {
+    public CompletableFuture<ResponseEntity<?>> getDashboardOverview() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication == null || !authentication.isAuthenticated()) {
-                return ResponseEntity.status(401).body("Not authenticated");
+                return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Not authenticated"));
             }
 
             String username = authentication.getName();
             User user = userService.findByUsername(username);
             if (user == null) {
-                return ResponseEntity.status(404).body("User not found");
+                return CompletableFuture.completedFuture(ResponseEntity.status(404).body("User not found"));
             }
 
-            Map<String, Object> dashboardData = new HashMap<>();
+            CompletableFuture<Section<List<Contest>>> upcomingContests =
+                    section(contestService::getUpcomingContests);
+            CompletableFuture<Section<Map<String, Object>>> performanceStats =
+                    section(() -> performanceService.getUserParticipationStats(user.getId()));
+            CompletableFuture<Section<List<ContestPerformance>>> recentPerformances =
+                    section(() -> performanceService.getUserPerformances(user.getId())
+                            .stream()
+                            .limit(5)
+                            .collect(Collectors.toList()));
+
+            // One deadline per platform, so a slow site only costs its own entry
+            Map<String, CompletableFuture<HandleVerificationStatus>> platformChecks = new LinkedHashMap<>();
+            for (String platform : PlatformVerificationService.PLATFORMS) {
+                platformChecks.put(platform, platformVerificationService.checkPlatformRegistration(user, platform)
+                        .completeOnTimeout(null, platformDeadlineMillis, TimeUnit.MILLISECONDS));
+            }
 
-            // Get upcoming contests
-            List<Contest> upcomingContests = contestService.getUpcomingContests();
-            dashboardData.put("upcomingContests", upcomingContests);
+            List<CompletableFuture<?>> all = new ArrayList<>(platformChecks.values());
+            all.add(upcomingContests);
+            all.add(performanceStats);
+            all.add(recentPerformances);
 
-            // Get user's platform registration status
-            CompletableFuture<Map<String, Boolean>> platformStatusFuture = 
-                platformVerificationService.verifyAllPlatforms(user);
-            
-            Map<String, Boolean> platformStatus = platformStatusFuture.get();
-            dashboardData.put("platformRegistrationStatus", platformStatus);
+            return CompletableFuture.allOf(all.toArray(new CompletableFuture[0]))
+                    .thenApply(done -> ResponseEntity.ok(buildOverview(user, upcomingContests.join(),
+                            performanceStats.join(), recentPerformances.join(), platformChecks)));
 
-            // Get contests where user is not registered on the platform
-            List<Map<String, Object>> missingRegistrations = getMissingRegistrations(user, upcomingContests, platformStatus);
-            dashboardData.put("missingRegistrations", missingRegistrations);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(500).body("Error loading dashboard: " + e.getMessage()));
+        }
+    }
 
-            // Get user's performance statistics
-            Map<String, Object> performanceStats = performanceService.getUserParticipationStats(user.getId());
-            dashboardData.put("performanceStats", performanceStats);
+    private Map<String, Object> buildOverview(User user, Section<List<Contest>> upcomingContests,
+                                              Section<Map<String, Object>> performanceStats,
+                                              Section<List<ContestPerformance>> recentPerformances,
+                                              Map<String, CompletableFuture<HandleVerificationStatus>> platformChecks) {
+        Map<String, Boolean> platformStatus = new HashMap<>();
+        List<String> timedOutPlatforms = new ArrayList<>();
+        List<String> unreachablePlatforms = new ArrayList<>();
+        platformChecks.forEach((platform, check) -> {
+            HandleVerificationStatus status = check.join();
+            if (status == null) {
+                timedOutPlatforms.add(platform);
+            } else if (status == HandleVerificationStatus.UNKNOWN) {
+                unreachablePlatforms.add(platform);
+            } else {
+                platformStatus.put(platform, status == HandleVerificationStatus.FOUND);
+            }
+        });
+
+        List<Contest> contests = upcomingContests.valueOr(List.of());
+
+        Map<String, Object> dashboardData = new HashMap<>();
+        dashboardData.put("upcomingContests", contests);
+        dashboardData.put("platformRegistrationStatus", platformStatus);
+        dashboardData.put("timedOutPlatforms", timedOutPlatforms);
+        dashboardData.put("unreachablePlatforms", unreachablePlatforms);
+        // Platforms that timed out or were unreachable are left out rather than reported as missing
+        dashboardData.put("missingRegistrations", getMissingRegistrations(user, contests, platformStatus));
+        dashboardData.put("performanceStats", performanceStats.valueOr(Map.of()));
+        dashboardData.put("recentPerformances", recentPerformances.valueOr(List.of()));
+
+        String platformSectionStatus = timedOutPlatforms.isEmpty() && unreachablePlatforms.isEmpty() ? Section.OK : "partial";
+        Map<String, String> sectionStatus = new LinkedHashMap<>();
+        sectionStatus.put("upcomingContests", upcomingContests.status());
+        sectionStatus.put("platformRegistrationStatus", platformSectionStatus);
+        sectionStatus.put("missingRegistrations",
+                Section.OK.equals(upcomingContests.status()) ? platformSectionStatus : upcomingContests.status());
+        sectionStatus.put("performanceStats", performanceStats.status());
+        sectionStatus.put("recentPerformances", recentPerformances.status());
+        dashboardData.put("sectionStatus", sectionStatus);
+        return dashboardData;
+    }
+
+    // Load one dashboard section on the shared executor; never fails, a late or failed load becomes a status
+    private <T> CompletableFuture<Section<T>> section(Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(loader, taskExecutor)
+                .thenApply(Section::ok)
+                .exceptionally(e -> Section.failed())
+                .completeOnTimeout(Section.timedOut(), sectionDeadlineMillis, TimeUnit.MILLISECONDS);
+    }
 
-            // Get recent performances
-            List<ContestPerformance> recentPerformances = performanceService.getUserPerformances(user.getId())
-                    .stream()
-                    .limit(5)
-                    .collect(Collectors.toList());
-            dashboardData.put("recentPerformances", recentPerformances);
+    private record Section<T>(T value, String status) {
 
-            return ResponseEntity.ok(dashboardData);
+        private static final String OK = "ok";
 
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error loading dashboard: " + e.getMessage());
+        private static <T> Section<T> ok(T value) {
+            return new Section<>(value, OK);
+        }
+
+        private static <T> Section<T> failed() {
+            return new Section<>(null, "error");
+        }
+
+        private static <T> Section<T> timedOut() {
+            return new Section<>(null, "timeout");
+        }
+
+        private T valueOr(T fallback) {
+            return value != null ? value : fallback;
         }
     }
 
@@ -0,0 +1,134 @@
+package com.AlgoAlert.CodeRadar.controllers;
+
+import com.AlgoAlert.CodeRadar.services.PlatformVerificationService;
+import com.AlgoAlert.CodeRadar.services.SmtpTransportPool;
+import com.AlgoAlert.CodeRadar.util.HostConcurrencyLimiter;
+import com.AlgoAlert.CodeRadar.util.OutboundHttpMetrics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
+
+    @Autowired
+    private PlatformVerificationService platformVerificationService;
+
+    @Autowired
+    private OutboundHttpMetrics outboundHttpMetrics;
+
+    @Autowired
+    private OkHttpClient okHttpClient;
+
+    @Autowired
+    private HostConcurrencyLimiter hostConcurrencyLimiter;
+
+    // Hit/miss/eviction/load statistics for every named cache
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        try {
+            Map<String, Object> caches = new TreeMap<>();
+            for (String name : cacheManager.getCacheNames()) {
+                if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                    caches.put(name, cacheStats(nativeCache.stats(), nativeCache.estimatedSize()));
+                }
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("caches", caches);
+            response.put("timestamp", LocalDateTime.now());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get cache metrics");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    // Handle verification cache hit/miss and outcome counters per platform
+    @GetMapping("/verification")
+    public ResponseEntity<Map<String, Object>> getVerificationCacheMetrics() {
+        try {
+            Map<String, Object> response = new HashMap<>(platformVerificationService.getVerificationCacheStats());
+            response.put("timestamp", LocalDateTime.now());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get verification cache metrics");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    // SMTP connection pool size and reuse counters
+    @GetMapping("/smtp")
+    public ResponseEntity<Map<String, Object>> getSmtpPoolMetrics() {
+        try {
+            Map<String, Object> response = new HashMap<>(smtpTransportPool.getStats());
+            response.put("timestamp", LocalDateTime.now());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get SMTP pool metrics");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    // Outbound HTTP latency and errors per host, plus shared connection pool usage
+    @GetMapping("/http")
+    public ResponseEntity<Map<String, Object>> getOutboundHttpMetrics() {
+        try {
+            Map<String, Object> pool = new HashMap<>();
+            pool.put("connections", okHttpClient.connectionPool().connectionCount());
+            pool.put("idleConnections", okHttpClient.connectionPool().idleConnectionCount());
+            pool.put("inFlightPerHost", hostConcurrencyLimiter.inFlight());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("hosts", outboundHttpMetrics.getStats());
+            response.put("connectionPool", pool);
+            response.put("timestamp", LocalDateTime.now());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get outbound HTTP metrics");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    private Map<String, Object> cacheStats(CacheStats stats, long estimatedSize) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", estimatedSize);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadSuccesses", stats.loadSuccessCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        // Load time is only recorded for caches read through a loader (sync = true)
+        result.put("averageLoadTimeMs", stats.averageLoadPenalty() / 1_000_000.0);
+        result.put("totalLoadTimeMs", stats.totalLoadTime() / 1_000_000);
+        return result;
+    }
+}
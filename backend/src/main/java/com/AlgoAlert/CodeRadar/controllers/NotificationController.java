@@ -2,7 +2,9 @@ package com.AlgoAlert.CodeRadar.controllers;
 
 import com.AlgoAlert.CodeRadar.model.User;
 import com.AlgoAlert.CodeRadar.services.ContestNotificationService;
+import com.AlgoAlert.CodeRadar.services.EmailDispatcher;
 import com.AlgoAlert.CodeRadar.services.EmailService;
+import com.AlgoAlert.CodeRadar.services.NotificationScheduler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +25,12 @@ public class NotificationController {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private NotificationScheduler notificationScheduler;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
     // Get notification statistics
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getNotificationStats() {
@@ -31,6 +39,7 @@ public class NotificationController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("statistics", stats);
+            response.put("scheduler", notificationScheduler.getSchedulerStats());
             response.put("timestamp", LocalDateTime.now());
             
             return ResponseEntity.ok(response);
@@ -42,6 +51,21 @@ public class NotificationController {
         }
     }
 
+    // Email delivery queue, counters and latency percentiles
+    @GetMapping("/delivery-stats")
+    public ResponseEntity<Map<String, Object>> getDeliveryStats() {
+        try {
+            Map<String, Object> response = new HashMap<>(emailDispatcher.getStats());
+            response.put("timestamp", LocalDateTime.now());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get delivery statistics");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     // Send immediate notifications for testing
     @PostMapping("/send-immediate")
     public ResponseEntity<Map<String, Object>> sendImmediateNotifications() {
@@ -143,10 +167,11 @@ public class NotificationController {
     @PostMapping("/check-notifications")
     public ResponseEntity<Map<String, Object>> checkNotifications() {
         try {
-            contestNotificationService.checkAndSendContestNotifications();
+            int fired = notificationScheduler.fireDueTriggers();
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Notification check completed successfully");
+            response.put("triggersFired", fired);
             response.put("timestamp", LocalDateTime.now());
             
             return ResponseEntity.ok(response);
@@ -162,10 +187,10 @@ public class NotificationController {
     @PostMapping("/retry-failed")
     public ResponseEntity<Map<String, Object>> retryFailedNotifications() {
         try {
-            emailService.retryFailedNotifications();
+            emailDispatcher.drain();
             
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Failed notifications retry completed");
+            response.put("message", "Outbox drain started; due retries will be sent");
             response.put("timestamp", LocalDateTime.now());
             
             return ResponseEntity.ok(response);
@@ -221,9 +246,10 @@ public class NotificationController {
         endpoints.put("POST /test-user?email=&name=", "Create test user");
         endpoints.put("POST /test-notification?email=", "Send test notification to user");
         endpoints.put("POST /test-email?email=", "Send test email");
-        endpoints.put("POST /check-notifications", "Manually trigger notification check");
+        endpoints.put("POST /check-notifications", "Fire any reminder triggers that are already due");
         endpoints.put("POST /retry-failed", "Retry failed notifications");
         endpoints.put("POST /cleanup", "Clean up old notifications");
+        endpoints.put("GET /delivery-stats", "Email delivery queue and latency percentiles");
         endpoints.put("GET /health", "Health check");
         endpoints.put("GET /info", "Get this information");
         
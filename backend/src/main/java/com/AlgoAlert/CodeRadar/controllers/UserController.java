@@ -4,6 +4,7 @@ package com.AlgoAlert.CodeRadar.controllers;
 import com.AlgoAlert.CodeRadar.model.User;
 import com.AlgoAlert.CodeRadar.services.PlatformVerificationService;
 import com.AlgoAlert.CodeRadar.services.UserService;
+import com.AlgoAlert.CodeRadar.util.ReminderLeadTimes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -94,4 +95,29 @@ public class UserController {
         userService.saveUser(user);
         return ResponseEntity.ok(user);
     }
+
+    // Minutes before contest start to get reminders, e.g. [1440, 720, 60, 10]; empty or null restores the default
+    @PatchMapping("/reminder-preferences")
+    public ResponseEntity<?> updateReminderPreferences(@RequestBody User reminderUpdates) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal().equals("anonymousUser")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not authenticated");
+        }
+        String username = authentication.getName();
+        User user = userService.findByUsername(username);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        }
+        List<Integer> leadMinutes = reminderUpdates.getReminderLeadMinutes();
+        try {
+            user.setReminderLeadMinutes(leadMinutes == null || leadMinutes.isEmpty()
+                    ? null
+                    : ReminderLeadTimes.normalize(leadMinutes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        // The save event updates the subscriber index, which reschedules triggers for new lead times
+        userService.saveUser(user);
+        return ResponseEntity.ok(user);
+    }
 }
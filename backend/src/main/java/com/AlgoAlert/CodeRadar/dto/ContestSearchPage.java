@@ -0,0 +1,19 @@
+package com.AlgoAlert.CodeRadar.dto;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContestSearchPage {
+    private String query;
+    private int page;
+    private int size;
+    private int totalResults;
+    private List<Contest> contests;
+}
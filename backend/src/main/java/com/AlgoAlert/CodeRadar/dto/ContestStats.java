@@ -0,0 +1,17 @@
+package com.AlgoAlert.CodeRadar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContestStats {
+    private long totalContests;
+    private long upcomingContests;
+    private long activeContests;
+    private Map<String, Long> platformCounts;
+}
@@ -0,0 +1,25 @@
+package com.AlgoAlert.CodeRadar.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContestUpsertResult {
+    private int inserted;
+    private int updated;
+    private int unchanged;
+
+    public int getTotal() {
+        return inserted + updated + unchanged;
+    }
+
+    public ContestUpsertResult add(ContestUpsertResult other) {
+        return new ContestUpsertResult(
+                inserted + other.inserted,
+                updated + other.updated,
+                unchanged + other.unchanged);
+    }
+}
@@ -0,0 +1,9 @@
+package com.AlgoAlert.CodeRadar.enums;
+
+public enum EmailNotificationStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED,
+    SKIPPED
+}
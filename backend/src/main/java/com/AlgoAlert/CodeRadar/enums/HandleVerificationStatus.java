@@ -0,0 +1,8 @@
+package com.AlgoAlert.CodeRadar.enums;
+
+public enum HandleVerificationStatus {
+    FOUND,
+    NOT_FOUND,
+    // The platform could not be reached or gave an answer we cannot read
+    UNKNOWN
+}
@@ -0,0 +1,7 @@
+package com.AlgoAlert.CodeRadar.enums;
+
+public enum NotificationTriggerStatus {
+    PENDING,
+    FIRED,
+    CANCELLED
+}
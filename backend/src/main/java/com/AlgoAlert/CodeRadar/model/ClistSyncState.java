@@ -0,0 +1,37 @@
+package com.AlgoAlert.CodeRadar.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Per-platform high-water mark for incremental clist.by syncs.
+ * Times are UTC, matching the timestamps clist.by reports.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Document(collection = "clist_sync_state")
+public class ClistSyncState {
+
+    // clist.by resource id
+    @Id
+    private String platformId;
+
+    private String platformName;
+
+    // Start time of the last successful sync; the next delta asks for contests updated since then
+    private LocalDateTime lastSyncedAt;
+
+    private LocalDateTime lastFullSyncAt;
+
+    // SHA-256 of each page's contests in the last full sync, keyed by the page's offset, used to skip re-saving unchanged pages
+    private Map<String, String> pageHashesByOffset;
+
+    private int lastFetchedCount;
+}
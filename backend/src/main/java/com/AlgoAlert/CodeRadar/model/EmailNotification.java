@@ -1,24 +1,38 @@
 package com.AlgoAlert.CodeRadar.model;
 
+import com.AlgoAlert.CodeRadar.enums.EmailNotificationStatus;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * One contest reminder per (user, contest, lead time), doubling as the delivery outbox.
+ * Rows are inserted as PENDING, claimed by a worker under a lease (SENDING), then acked as SENT
+ * or rescheduled as FAILED with backoff. Delivered rows expire 30 days after they were sent.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @ToString
 @Document(collection = "email_notifications")
+@CompoundIndexes({
+    @CompoundIndex(name = "userId_contestId_leadMinutes", def = "{'userId': 1, 'contestId': 1, 'leadMinutes': 1}", unique = true),
+    // Only undelivered rows are ever claimed or retried, so the claim index leaves delivered ones out
+    @CompoundIndex(name = "undelivered_status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}",
+            partialFilter = "{'delivered': false}")
+})
 public class EmailNotification {
     
     @Id
     private String id;
     
-    @Indexed
+    // Served by the userId_contestId_leadMinutes prefix
     private String userId;
     
     @Indexed
@@ -29,12 +43,35 @@ public class EmailNotification {
     private String platform;
     
     private LocalDateTime contestStartTime;
+
+    // Minutes before the start this reminder is for; part of the dedup key
+    private int leadMinutes;
     
+    @Indexed(name = "notificationSentAt_ttl", expireAfter = "30d")
     private LocalDateTime notificationSentAt;
     
     private String emailAddress;
+
+    private String userName;
     
     private boolean delivered;
     
     private String failureReason;
+
+    private EmailNotificationStatus status;
+
+    private int attempts;
+
+    private LocalDateTime enqueuedAt;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Indexed(sparse = true)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+
+    // Set in digest mode: rows sharing a key go out together as one email
+    @Indexed(sparse = true)
+    private String digestKey;
 }
@@ -0,0 +1,49 @@
+package com.AlgoAlert.CodeRadar.model;
+
+import com.AlgoAlert.CodeRadar.enums.NotificationTriggerStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One scheduled reminder: fire at contestStartTime minus leadMinutes.
+ * Pending triggers are reloaded on startup so reminders survive restarts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Document(collection = "notification_triggers")
+@CompoundIndex(name = "contestId_leadMinutes", def = "{'contestId': 1, 'leadMinutes': 1}", unique = true)
+public class NotificationTrigger {
+
+    @Id
+    private String id;
+
+    private String contestId;
+
+    private int leadMinutes;
+
+    private String contestName;
+
+    private String platform;
+
+    // Triggers are dropped 30 days after their contest started
+    @Indexed(expireAfter = "30d")
+    private LocalDateTime contestStartTime;
+
+    @Indexed
+    private LocalDateTime fireAt;
+
+    @Indexed
+    private NotificationTriggerStatus status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime firedAt;
+}
@@ -25,6 +25,8 @@ public class User {
     private List<String> favPlatforms;
     private Map<String, List<String>> timeTable;
     private boolean emailPrefs;
+    // Minutes before contest start to send reminders; null means the default lead times
+    private List<Integer> reminderLeadMinutes;
     private String codeforcesHandle;
     private String leetcodeHandle;
     private String codechefHandle;
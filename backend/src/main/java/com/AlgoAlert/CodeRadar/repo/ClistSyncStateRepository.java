@@ -0,0 +1,9 @@
+package com.AlgoAlert.CodeRadar.repo;
+
+import com.AlgoAlert.CodeRadar.model.ClistSyncState;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClistSyncStateRepository extends MongoRepository<ClistSyncState, String> {
+}
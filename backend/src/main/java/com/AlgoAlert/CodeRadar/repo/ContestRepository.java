@@ -15,9 +15,6 @@ public interface ContestRepository extends MongoRepository<Contest, String> {
     // Find contests by platform
     List<Contest> findByPlatform(String platform);
     
-    // Find contests by platform (case insensitive)
-    List<Contest> findByPlatformIgnoreCase(String platform);
-    
     // Find upcoming contests (start time is in the future)
     @Query("{'startTime': {$gte: ?0}}")
     List<Contest> findUpcomingContests(LocalDateTime currentTime);
@@ -26,10 +23,6 @@ public interface ContestRepository extends MongoRepository<Contest, String> {
     @Query("{'platform': ?0, 'startTime': {$gte: ?1}}")
     List<Contest> findUpcomingContestsByPlatform(String platform, LocalDateTime currentTime);
     
-    // Find upcoming contests by platform (case insensitive)
-    @Query("{'platform': {$regex: ?0, $options: 'i'}, 'startTime': {$gte: ?1}}")
-    List<Contest> findUpcomingContestsByPlatformIgnoreCase(String platform, LocalDateTime currentTime);
-    
     // Find contests within a time range
     @Query("{'startTime': {$gte: ?0, $lte: ?1}}")
     List<Contest> findContestsBetween(LocalDateTime startTime, LocalDateTime endTime);
@@ -66,8 +59,4 @@ public interface ContestRepository extends MongoRepository<Contest, String> {
     // Count active contests (optimized)
     @Query(value = "{'startTime': {$lte: ?0}, 'endTime': {$gte: ?0}}", count = true)
     long countActiveContests(LocalDateTime currentTime);
-    
-    // Count contests by platform (case insensitive)
-    @Query(value = "{'platform': {$regex: ?0, $options: 'i'}}", count = true)
-    long countByPlatformIgnoreCase(String platform);
 }
@@ -17,6 +17,12 @@ public interface EmailNotificationRepository extends MongoRepository<EmailNotifi
     
     // Check if notification already sent for user and contest
     boolean existsByUserIdAndContestId(String userId, String contestId);
+
+    // Check if a given reminder was already sent for user and contest
+    boolean existsByUserIdAndContestIdAndLeadMinutes(String userId, String contestId, int leadMinutes);
+
+    // The record for one reminder, sent or not
+    Optional<EmailNotification> findByUserIdAndContestIdAndLeadMinutes(String userId, String contestId, int leadMinutes);
     
     // Find all notifications for a user
     List<EmailNotification> findByUserId(String userId);
@@ -35,6 +41,10 @@ public interface EmailNotificationRepository extends MongoRepository<EmailNotifi
     // Delete old notifications (cleanup)
     @Query(value = "{'notificationSentAt': {$lt: ?0}}", delete = true)
     void deleteOldNotifications(LocalDateTime cutoffDate);
+
+    // Delete undelivered rows for long-past contests; delivered rows expire through the TTL index
+    @Query(value = "{'delivered': false, 'contestStartTime': {$lt: ?0}}", delete = true)
+    void deleteUndeliveredForContestsBefore(LocalDateTime cutoffDate);
     
     // Find notifications sent within a time range
     @Query("{'notificationSentAt': {$gte: ?0, $lte: ?1}}")
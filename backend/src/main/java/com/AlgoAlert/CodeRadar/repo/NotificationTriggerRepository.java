@@ -0,0 +1,21 @@
+package com.AlgoAlert.CodeRadar.repo;
+
+import com.AlgoAlert.CodeRadar.enums.NotificationTriggerStatus;
+import com.AlgoAlert.CodeRadar.model.NotificationTrigger;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationTriggerRepository extends MongoRepository<NotificationTrigger, String> {
+
+    // Triggers for contests that have not started yet, whatever their status
+    @Query("{'contestStartTime': {$gt: ?0}}")
+    List<NotificationTrigger> findForContestsStartingAfter(LocalDateTime time);
+
+    // Count triggers by status
+    long countByStatus(NotificationTriggerStatus status);
+}
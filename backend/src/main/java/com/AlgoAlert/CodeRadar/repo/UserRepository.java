@@ -21,6 +21,10 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query("{'emailPrefs': true}")
     List<User> findUsersWithEmailNotificationsEnabled();
     
+    // Notification subscribers, reading only the fields needed to address and filter them
+    @Query(value = "{'emailPrefs': true}", fields = "{'email': 1, 'favPlatforms': 1, 'fullName': 1, 'username': 1, 'reminderLeadMinutes': 1}")
+    List<User> findNotificationSubscribers();
+    
     // Find users who have subscribed to specific platforms
     @Query("{'emailPrefs': true, 'favPlatforms': {$in: ?0}}")
     List<User> findUsersSubscribedToPlatforms(List<String> platforms);
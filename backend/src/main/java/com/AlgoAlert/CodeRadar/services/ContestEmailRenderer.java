@@ -0,0 +1,280 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.util.ReminderLeadTimes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeUtility;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Renders contest notification emails once per contest and reuses the result for every recipient.
+ * The template is rendered with a placeholder where the user's name goes. The output is split around
+ * it, and each recipient's body is the pieces joined with their HTML-escaped name, with no trip through
+ * the template engine. The pieces are also quoted-printable encoded once, so each recipient's MIME body
+ * part is assembled from shared, already-encoded bytes instead of re-encoding the whole page.
+ */
+@Service
+public class ContestEmailRenderer {
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Plain alphanumerics so the template's HTML escaping leaves it untouched
+    private static final String USER_NAME_TOKEN = "CODERADARUSERNAMEa91f3c";
+    private static final Pattern USER_NAME_SPLIT = Pattern.compile(USER_NAME_TOKEN, Pattern.LITERAL);
+
+    @Autowired
+    private TemplateEngine templateEngine;
+
+    @Value("${app.name:CodeRadar}")
+    private String appName;
+
+    // Keyed by everything that goes into the body, so an edited contest renders afresh
+    private final Cache<Object, RenderedContestEmail> rendered = Caffeine.newBuilder()
+            .maximumSize(256)
+            .expireAfterAccess(Duration.ofHours(2))
+            .build();
+
+    private record RenderKey(String contestId, String name, String platform, String url,
+                             LocalDateTime startTime, LocalDateTime endTime, Long durationMinutes,
+                             int leadMinutes, int year) {
+    }
+
+    /**
+     * A contest email rendered for all recipients; only the user's name is filled in per recipient
+     */
+    public static final class RenderedContestEmail {
+
+        private static final String CHARSET = "UTF-8";
+
+        // A quoted-printable soft line break: decodes to nothing, and lets independently encoded pieces join
+        private static final byte[] SOFT_LINE_BREAK = "=\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        private final String subject;
+        private final String encodedSubject;
+        private final String[] segments;
+        private final byte[][] encodedSegments;
+        private final int fixedLength;
+        private final int encodedLength;
+
+        private RenderedContestEmail(String subject, String html) {
+            this.subject = subject;
+            this.segments = USER_NAME_SPLIT.split(html, -1);
+            this.encodedSegments = new byte[segments.length][];
+            int length = 0;
+            int encoded = 0;
+            for (int i = 0; i < segments.length; i++) {
+                length += segments[i].length();
+                encodedSegments[i] = quotedPrintable(segments[i]);
+                encoded += encodedSegments[i].length;
+            }
+            this.fixedLength = length;
+            this.encodedLength = encoded;
+            try {
+                this.encodedSubject = MimeUtility.fold(9, MimeUtility.encodeText(subject, CHARSET, null));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public String subject() {
+            return subject;
+        }
+
+        // RFC 2047 form of the subject, ready for the Subject header
+        public String encodedSubject() {
+            return encodedSubject;
+        }
+
+        // Escaped the way the template's th:text escapes, so the result matches a per-recipient render exactly
+        public String htmlFor(String userName) {
+            String escapedName = HtmlEscape.escapeHtml4Xml(userName != null ? userName : "Coder");
+            StringBuilder html = new StringBuilder(fixedLength + escapedName.length() * (segments.length - 1));
+            html.append(segments[0]);
+            for (int i = 1; i < segments.length; i++) {
+                html.append(escapedName).append(segments[i]);
+            }
+            return html.toString();
+        }
+
+        /**
+         * The HTML body part for one recipient: the shared encoded pieces around their encoded name.
+         * Decodes to exactly htmlFor(userName), with line breaks as CRLF like any quoted-printable text part.
+         */
+        public MimeBodyPart htmlPartFor(String userName) throws MessagingException {
+            byte[] encodedName = quotedPrintable(HtmlEscape.escapeHtml4Xml(userName != null ? userName : "Coder"));
+            int pieces = encodedSegments.length;
+            ByteArrayOutputStream body = new ByteArrayOutputStream(
+                    encodedLength + (encodedName.length + 2 * SOFT_LINE_BREAK.length) * (pieces - 1));
+            body.writeBytes(encodedSegments[0]);
+            for (int i = 1; i < pieces; i++) {
+                body.writeBytes(SOFT_LINE_BREAK);
+                body.writeBytes(encodedName);
+                body.writeBytes(SOFT_LINE_BREAK);
+                body.writeBytes(encodedSegments[i]);
+            }
+
+            InternetHeaders headers = new InternetHeaders();
+            headers.setHeader("Content-Type", "text/html;charset=" + CHARSET);
+            headers.setHeader("Content-Transfer-Encoding", "quoted-printable");
+            return new MimeBodyPart(headers, body.toByteArray());
+        }
+
+        private static byte[] quotedPrintable(String text) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream(text.length() + text.length() / 8);
+            try (OutputStream encoder = MimeUtility.encode(encoded, "quoted-printable")) {
+                encoder.write(text.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | MessagingException e) {
+                throw new IllegalStateException("Could not encode email body", e);
+            }
+            return encoded.toByteArray();
+        }
+    }
+
+    /**
+     * Rendered reminder for a contest with the given lead time, from the cache when the contest is unchanged.
+     * A plain fallback body is sent when the template fails but never cached, so the next send retries the template.
+     */
+    public RenderedContestEmail render(Contest contest, int leadMinutes) {
+        int year = LocalDateTime.now().getYear();
+        RenderKey key = new RenderKey(contest.getId(), contest.getName(), contest.getPlatform(), contest.getUrl(),
+                contest.getStartTime(), contest.getEndTime(), contest.getDurationMinutes(), leadMinutes, year);
+        RenderedContestEmail cached = rendered.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        String timeUntil = ReminderLeadTimes.phrase(leadMinutes);
+        String subject = "🚨 Contest Alert: " + contest.getName() + " starts in " + timeUntil + "!";
+        String html = renderHtml(contest, timeUntil, year);
+        if (html == null) {
+            return new RenderedContestEmail(subject, renderSimpleHtml(contest, timeUntil));
+        }
+        return rendered.asMap().computeIfAbsent(key, k -> new RenderedContestEmail(subject, html));
+    }
+
+    /**
+     * Rendered digest for a set of contests; users following the same contests share one render
+     */
+    public RenderedContestEmail renderDigest(List<Contest> contests) {
+        int year = LocalDateTime.now().getYear();
+        List<RenderKey> key = contests.stream()
+                .map(contest -> new RenderKey(contest.getId(), contest.getName(), contest.getPlatform(), contest.getUrl(),
+                        contest.getStartTime(), contest.getEndTime(), contest.getDurationMinutes(), 0, year))
+                .toList();
+        return rendered.get(key, k -> new RenderedContestEmail(
+                "📅 Contest Digest: " + contests.size() + " contests starting soon",
+                renderDigestHtml(contests, year)));
+    }
+
+    private String renderDigestHtml(List<Contest> contests, int year) {
+        List<Map<String, Object>> items = new ArrayList<>(contests.size());
+        for (Contest contest : contests) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", contest.getName());
+            item.put("platform", contest.getPlatform());
+            item.put("url", contest.getUrl());
+            item.put("startTime", contest.getStartTime().format(DATE_TIME_FORMAT));
+            item.put("duration", contest.getDurationMinutes() + " minutes");
+            items.add(item);
+        }
+
+        Context context = new Context();
+        context.setVariable("userName", USER_NAME_TOKEN);
+        context.setVariable("contests", items);
+        context.setVariable("contestCount", contests.size());
+        context.setVariable("appName", appName);
+        context.setVariable("currentYear", year);
+        return templateEngine.process("contest-digest", context);
+    }
+
+    /**
+     * Generate HTML email content for contest notification; null if the template could not be rendered
+     */
+    private String renderHtml(Contest contest, String timeUntil, int year) {
+        try {
+            Context context = new Context();
+
+            // Add variables to template context
+            context.setVariable("userName", USER_NAME_TOKEN);
+            context.setVariable("contestName", contest.getName());
+            context.setVariable("platform", contest.getPlatform());
+            context.setVariable("contestUrl", contest.getUrl());
+            context.setVariable("startTime", contest.getStartTime().format(DATE_TIME_FORMAT));
+            context.setVariable("endTime", contest.getEndTime().format(DATE_TIME_FORMAT));
+            context.setVariable("duration", contest.getDurationMinutes() + " minutes");
+            context.setVariable("appName", appName);
+            context.setVariable("currentYear", year);
+            context.setVariable("timeUntil", timeUntil);
+
+            // Process template
+            return templateEngine.process("contest-notification", context);
+
+        } catch (Exception e) {
+            System.err.println("Error generating email template: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Generate simple text email as fallback
+     */
+    private String renderSimpleHtml(Contest contest, String timeUntil) {
+        String contestName = HtmlUtils.htmlEscape(contest.getName());
+        String platform = HtmlUtils.htmlEscape(contest.getPlatform());
+        String contestUrl = HtmlUtils.htmlEscape(contest.getUrl());
+        String app = HtmlUtils.htmlEscape(appName);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("<!DOCTYPE html>");
+        sb.append("<html><head><title>Contest Notification</title></head><body>");
+        sb.append("<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;'>");
+
+        sb.append("<h2 style='color: #2c3e50;'>🚨 Contest Alert!</h2>");
+        sb.append("<p>Hi ").append(USER_NAME_TOKEN).append(",</p>");
+
+        sb.append("<p>This is a reminder that the contest <strong>").append(contestName).append("</strong> ");
+        sb.append("on <strong>").append(platform).append("</strong> is starting in approximately ").append(timeUntil).append("!</p>");
+
+        sb.append("<div style='background-color: #f8f9fa; padding: 15px; border-left: 4px solid #007bff; margin: 20px 0;'>");
+        sb.append("<h3 style='margin-top: 0; color: #495057;'>Contest Details:</h3>");
+        sb.append("<p><strong>Contest:</strong> ").append(contestName).append("</p>");
+        sb.append("<p><strong>Platform:</strong> ").append(platform).append("</p>");
+        sb.append("<p><strong>Start Time:</strong> ").append(contest.getStartTime().format(DATE_TIME_FORMAT)).append("</p>");
+        sb.append("<p><strong>Duration:</strong> ").append(contest.getDurationMinutes()).append(" minutes</p>");
+        sb.append("</div>");
+
+        sb.append("<p><a href='").append(contestUrl).append("' style='background-color: #007bff; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Join Contest</a></p>");
+
+        sb.append("<p>Good luck and happy coding! 🚀</p>");
+        sb.append("<hr style='margin: 30px 0;'>");
+        sb.append("<p style='color: #6c757d; font-size: 12px;'>You received this email because you have contest notifications enabled in your ").append(app).append(" account.</p>");
+
+        sb.append("</div></body></html>");
+
+        return sb.toString();
+    }
+}
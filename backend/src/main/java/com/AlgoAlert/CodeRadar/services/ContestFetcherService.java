@@ -1,10 +1,18 @@
 package com.AlgoAlert.CodeRadar.services;
 
+import com.AlgoAlert.CodeRadar.dto.ContestUpsertResult;
+import com.AlgoAlert.CodeRadar.model.ClistSyncState;
 import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.repo.ClistSyncStateRepository;
+import com.AlgoAlert.CodeRadar.util.IdempotentRetryInterceptor;
+import com.AlgoAlert.CodeRadar.util.TokenBucket;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import okhttp3.Credentials;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -13,22 +21,76 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Service
 public class ContestFetcherService {
 
+    private static final DateTimeFormatter CLIST_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     @Autowired
     private ContestService contestService;
 
+    @Autowired
+    private ClistSyncStateRepository syncStateRepository;
+
+    // Platform IDs from clist.by, mapped to the display name used in fetch reports
+    private static final Map<String, String> CLIST_PLATFORMS = new LinkedHashMap<>();
+    static {
+        CLIST_PLATFORMS.put("1", "Codeforces");
+        CLIST_PLATFORMS.put("2", "CodeChef");
+        CLIST_PLATFORMS.put("93", "AtCoder");
+        CLIST_PLATFORMS.put("102", "LeetCode");
+        CLIST_PLATFORMS.put("63", "HackerRank");
+        CLIST_PLATFORMS.put("73", "HackerEarth");
+        CLIST_PLATFORMS.put("126", "GeeksforGeeks");
+        CLIST_PLATFORMS.put("111", "CS Academy");
+        CLIST_PLATFORMS.put("12", "TopCoder");
+        CLIST_PLATFORMS.put("136", "Naukri Code360");
+    }
+
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
 
+    // One token bucket per API host so concurrent platform fetches still share the host's rate limit
+    private final Map<String, TokenBucket> hostRateLimiters = new ConcurrentHashMap<>();
+
+    // Next-page prefetches run here so a platform's page walk never waits on its own download
+    private final ExecutorService pagePrefetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Wall time (ms) each platform took during the most recent full fetch
+    private volatile Map<String, Long> lastFetchTimings = Collections.emptyMap();
+
+    // INCREMENTAL asks only for contests updated since the watermark, FULL re-reads everything but skips
+    // pages identical to the last full sync, FORCED re-reads and re-saves everything
+    private enum SyncMode { INCREMENTAL, FULL, FORCED }
+
     @Value("${clist.api.url}")
     private String clistApiUrl;
 
@@ -38,29 +100,70 @@ public class ContestFetcherService {
     @Value("${clist.api.key}")
     private String clistApiKey;
 
-    public ContestFetcherService() {
-        this.httpClient = new OkHttpClient.Builder()
+    // Fan platform fetches out across virtual threads instead of fetching them one by one
+    @Value("${clist.fetch.concurrent:true}")
+    private boolean concurrentFetch;
+
+    @Value("${clist.fetch.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${clist.rate-limit.requests-per-minute:10}")
+    private double requestsPerMinute;
+
+    @Value("${clist.rate-limit.burst:4}")
+    private int rateLimitBurst;
+
+    // Ask clist.by only for contests updated since each platform's last successful sync
+    @Value("${clist.sync.incremental:true}")
+    private boolean incrementalSync;
+
+    // Force a full resync this often so deletions and missed updates are eventually picked up
+    @Value("${clist.sync.full-resync-hours:24}")
+    private long fullResyncHours;
+
+    // Re-request a small window before the watermark to cover clock skew between us and clist.by
+    @Value("${clist.sync.watermark-overlap-minutes:5}")
+    private long watermarkOverlapMinutes;
+
+    // Contests per clist.by page; pages are saved one at a time
+    @Value("${clist.fetch.page-size:100}")
+    private int pageSize;
+
+    // Request page N+1 while page N is still being parsed and saved
+    @Value("${clist.fetch.pipeline-pages:true}")
+    private boolean pipelinePages;
+
+    // Derived from the shared client so clist.by calls reuse its connection pool, with longer timeouts
+    // for large pages. executeWithRetry already retries with rate-limit-aware backoff, so the generic retry is dropped.
+    @Autowired
+    public ContestFetcherService(OkHttpClient okHttpClient) {
+        OkHttpClient.Builder builder = okHttpClient.newBuilder()
                 .connectTimeout(30, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
-                .build();
+                .callTimeout(0, TimeUnit.SECONDS);
+        builder.interceptors().removeIf(interceptor -> interceptor instanceof IdempotentRetryInterceptor);
+        this.httpClient = builder.build();
         this.objectMapper = new ObjectMapper();
     }
 
-    // Scheduled method to fetch contests every 4 hours
-    @Scheduled(fixedRate = 4 * 60 * 60 * 1000) // 4 hours in milliseconds
+    @PreDestroy
+    public void shutdown() {
+        pagePrefetchExecutor.shutdownNow();
+    }
+
+    // Scheduled method to fetch contests, every 15 minutes by default now that syncs are incremental
+    @Scheduled(fixedRateString = "${clist.fetch.interval-ms:900000}")
     public void fetchAllContests() {
         System.out.println("Starting scheduled contest fetch at: " + LocalDateTime.now());
 
         try {
-            List<Contest> allContests = fetchContestsFromClist();
-
-            // Save all fetched contests
-            contestService.saveContests(allContests);
+            ContestUpsertResult result = fetchAndSaveContests(incrementalSync ? SyncMode.INCREMENTAL : SyncMode.FULL);
 
             // Clean up old contests (older than 30 days)
             contestService.deleteOldContests(30);
 
-            System.out.println("Successfully fetched and saved " + allContests.size() + " contests");
+            System.out.println("Successfully fetched and saved " + result.getTotal() + " contests (inserted: " +
+                    result.getInserted() + ", updated: " + result.getUpdated() + ", unchanged: " + result.getUnchanged() + ")");
 
         } catch (Exception e) {
             System.err.println("Error during scheduled contest fetch: " + e.getMessage());
@@ -68,131 +171,402 @@ public class ContestFetcherService {
         }
     }
 
-    // Manual fetch method for immediate updates
-    public List<Contest> fetchContestsManually() {
+    // Manual fetch method for immediate updates (always a full sync that re-saves every page)
+    public ContestUpsertResult fetchContestsManually() {
         try {
-            List<Contest> allContests = fetchContestsFromClist();
-            contestService.saveContests(allContests);
-            return allContests;
+            return fetchAndSaveContests(SyncMode.FORCED);
         } catch (Exception e) {
             System.err.println("Error during manual contest fetch: " + e.getMessage());
             e.printStackTrace();
-            return new ArrayList<>();
+            return new ContestUpsertResult();
+        }
+    }
+
+    // Fetch every platform and upsert each page as it arrives, so memory stays bounded by the page size
+    private ContestUpsertResult fetchAndSaveContests(SyncMode mode) {
+        Map<String, ClistSyncState> syncStates = loadSyncStates();
+        AtomicReference<ContestUpsertResult> result = new AtomicReference<>(new ContestUpsertResult());
+
+        fetchContestsFromClist(syncStates, mode,
+                page -> result.accumulateAndGet(contestService.saveContests(page), ContestUpsertResult::add));
+
+        // Pages are saved before their platform's sync state is recorded, so watermarks never run ahead of the data
+        syncStateRepository.saveAll(syncStates.values());
+        return result.get();
+    }
+
+    // Fetch all platforms; successful platforms record their new sync state in syncStates
+    private int fetchContestsFromClist(Map<String, ClistSyncState> syncStates, SyncMode mode,
+                                       Consumer<List<Contest>> pageSink) {
+        long startNanos = System.nanoTime();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        int fetchedCount = concurrentFetch
+                ? fetchPlatformsConcurrently(timings, syncStates, mode, pageSink)
+                : fetchPlatformsSequentially(timings, syncStates, mode, pageSink);
+
+        // Keep the report in platform order regardless of completion order
+        Map<String, Long> orderedTimings = new LinkedHashMap<>();
+        for (String platformName : CLIST_PLATFORMS.values()) {
+            if (timings.containsKey(platformName)) {
+                orderedTimings.put(platformName, timings.get(platformName));
+            }
         }
+        lastFetchTimings = Collections.unmodifiableMap(orderedTimings);
+
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        System.out.println("Fetched " + fetchedCount + " contests from clist.by in " + totalMillis +
+                " ms (" + (concurrentFetch ? "concurrent" : "sequential") + "), per-platform wall time (ms): " + orderedTimings);
+
+        return fetchedCount;
+    }
+
+    // Wall time per platform from the most recent full fetch
+    public Map<String, Long> getLastFetchTimings() {
+        return lastFetchTimings;
     }
 
-    // Unified method to fetch contests from clist.by API
-    public List<Contest> fetchContestsFromClist() {
-        List<Contest> allContests = new ArrayList<>();
-
-        // List of platform IDs from clist.by
-        String[] platformIds = {
-                "1",   // Codeforces
-                "2",   // CodeChef
-                "93",  // AtCoder
-                "102", // LeetCode
-                "63",  // HackerRank
-                "73",  // HackerEarth
-                "126", // GeeksforGeeks
-                "111", // CS Academy
-                "12",  // TopCoder
-                "136", // Naukri.com/Code360
-        };
-
-        for (String platformId : platformIds) {
+    private Map<String, ClistSyncState> loadSyncStates() {
+        Map<String, ClistSyncState> syncStates = new ConcurrentHashMap<>();
+        for (ClistSyncState state : syncStateRepository.findAllById(CLIST_PLATFORMS.keySet())) {
+            syncStates.put(state.getPlatformId(), state);
+        }
+        return syncStates;
+    }
+
+    private int fetchPlatformsSequentially(Map<String, Long> timings, Map<String, ClistSyncState> syncStates,
+                                           SyncMode mode, Consumer<List<Contest>> pageSink) {
+        int fetchedCount = 0;
+
+        for (String platformId : CLIST_PLATFORMS.keySet()) {
             try {
-                List<Contest> platformContests = fetchContestsForPlatform(platformId);
-                allContests.addAll(platformContests);
-//                System.out.println("Fetched " + platformContests.size() + " contests for platform ID: " + platformId);
+                fetchedCount += timedFetch(platformId, timings, syncStates, mode, pageSink);
             } catch (Exception e) {
                 System.err.println("Error fetching contests for platform ID " + platformId + ": " + e.getMessage());
             }
         }
 
-        return allContests;
+        return fetchedCount;
+    }
+
+    // Fetch every platform on its own virtual thread, capped at maxConcurrency in-flight platforms
+    private int fetchPlatformsConcurrently(Map<String, Long> timings, Map<String, ClistSyncState> syncStates,
+                                           SyncMode mode, Consumer<List<Contest>> pageSink) {
+        int fetchedCount = 0;
+        Semaphore concurrencyLimit = new Semaphore(Math.max(1, maxConcurrency));
+        Map<String, Future<Integer>> futures = new LinkedHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String platformId : CLIST_PLATFORMS.keySet()) {
+                futures.put(platformId, executor.submit(() -> {
+                    concurrencyLimit.acquire();
+                    try {
+                        return timedFetch(platformId, timings, syncStates, mode, pageSink);
+                    } finally {
+                        concurrencyLimit.release();
+                    }
+                }));
+            }
+
+            for (Map.Entry<String, Future<Integer>> entry : futures.entrySet()) {
+                try {
+                    fetchedCount += entry.getValue().get();
+                } catch (ExecutionException e) {
+                    System.err.println("Error fetching contests for platform ID " + entry.getKey() + ": " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    System.err.println("Interrupted while waiting for clist.by platform fetches");
+                    break;
+                }
+            }
+        }
+
+        return fetchedCount;
+    }
+
+    private int timedFetch(String platformId, Map<String, Long> timings, Map<String, ClistSyncState> syncStates,
+                           SyncMode mode, Consumer<List<Contest>> pageSink) {
+        long startNanos = System.nanoTime();
+        try {
+            return fetchContestsForPlatform(platformId, syncStates, mode, pageSink);
+        } finally {
+            timings.put(CLIST_PLATFORMS.getOrDefault(platformId, platformId),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    // Wait for a token from the rate limiter of the host being called
+    private void acquireRateLimit(String url) throws InterruptedException {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        String host = httpUrl != null ? httpUrl.host() : url;
+        hostRateLimiters
+                .computeIfAbsent(host, h -> TokenBucket.perMinute(Math.max(1, rateLimitBurst), requestsPerMinute))
+                .acquire();
     }
 
     // Fetch contests for a specific platform using clist.by API
     private List<Contest> fetchContestsForPlatform(String platformId) {
         List<Contest> contests = new ArrayList<>();
+        fetchContestsForPlatform(platformId, null, SyncMode.FORCED, contests::addAll);
+        return contests;
+    }
+
+    // A delta is only safe against a known watermark that a recent full sync has anchored
+    private boolean canSyncIncrementally(ClistSyncState state, LocalDateTime nowUtc) {
+        return state != null && state.getLastSyncedAt() != null && state.getLastFullSyncAt() != null
+                && state.getLastFullSyncAt().isAfter(nowUtc.minusHours(fullResyncHours));
+    }
+
+    /**
+     * Walk every page of a platform's contests by following clist.by's meta.next cursor.
+     * The next page is requested as soon as its cursor is read, so it downloads while the current
+     * page is still being parsed and saved; at most two responses are open at any time.
+     * Returns the number of contests handed to the page sink.
+     */
+    private int fetchContestsForPlatform(String platformId, Map<String, ClistSyncState> syncStates,
+                                         SyncMode mode, Consumer<List<Contest>> pageSink) {
+        ClistSyncState previousState = syncStates != null ? syncStates.get(platformId) : null;
+        LocalDateTime syncStartedAt = LocalDateTime.now(ZoneOffset.UTC);
+        boolean delta = mode == SyncMode.INCREMENTAL && canSyncIncrementally(previousState, syncStartedAt);
+        boolean skipUnchangedPages = mode != SyncMode.FORCED && !delta;
+        Map<String, String> previousPageHashes = previousState != null && previousState.getPageHashesByOffset() != null
+                ? previousState.getPageHashesByOffset() : Collections.emptyMap();
+
+        Map<String, String> pageHashes = new LinkedHashMap<>();
+        int fetchedCount = 0;
+        int offset = 0;
+        String pageUrl = firstPageUrl(platformId, syncStartedAt, delta, previousState);
+        AtomicReference<CompletableFuture<Response>> prefetched = new AtomicReference<>();
+
+        try {
+            while (pageUrl != null) {
+                CompletableFuture<Response> pending = prefetched.getAndSet(null);
+                Response response = pending != null ? pending.join() : executeWithRetry(pageUrl, platformId);
+                if (response == null) {
+                    // Retries exhausted; leave the sync state alone so the next run covers this platform again
+                    return fetchedCount;
+                }
+
+                List<Contest> pageContests = new ArrayList<>();
+                ClistPage page;
+                try (response; InputStream body = response.body().byteStream()) {
+                    page = parseClistResponse(body, pageContests::add, nextUrl -> {
+                        if (pipelinePages) {
+                            prefetched.set(CompletableFuture.supplyAsync(
+                                    () -> executeWithRetryUnchecked(nextUrl, platformId), pagePrefetchExecutor));
+                        }
+                    });
+                }
+
+                if (!page.hasObjects()) {
+                    System.err.println("Clist API error for platform " + platformId + ": " + page.detail());
+                    return fetchedCount;
+                }
+
+                // A page whose contests match the same offset of the last full sync holds nothing new to save
+                String offsetKey = String.valueOf(offset);
+                String pageHash = hashContests(pageContests);
+                pageHashes.put(offsetKey, pageHash);
+                boolean unchanged = skipUnchangedPages && pageHash.equals(previousPageHashes.get(offsetKey));
+
+                if (!unchanged && !pageContests.isEmpty()) {
+                    pageSink.accept(pageContests);
+                }
+                fetchedCount += pageContests.size();
+                offset += page.objectCount();
+                pageUrl = page.next();
+            }
+
+            if (syncStates != null) {
+                syncStates.put(platformId, nextSyncState(platformId, previousState, syncStartedAt,
+                        delta, pageHashes, fetchedCount));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Error fetching contests for platform " + platformId + ": " + e.getMessage());
+        } finally {
+            CompletableFuture<Response> orphan = prefetched.getAndSet(null);
+            if (orphan != null) {
+                orphan.thenAccept(response -> {
+                    if (response != null) {
+                        response.close();
+                    }
+                });
+            }
+        }
+
+        return fetchedCount;
+    }
+
+    private String firstPageUrl(String platformId, LocalDateTime nowUtc, boolean delta, ClistSyncState previousState) {
+        // clist.by filters in UTC, the same clock as the watermark
+        String currentTime = nowUtc.format(CLIST_DATE_TIME);
+
+        String queryParams = "resource_id=" + platformId +
+                "&start__gte=" + currentTime +
+                "&order_by=start" +
+                "&limit=" + pageSize +
+                "&username=" + clistUsername +
+                "&api_key=" + clistApiKey;
+
+        if (delta) {
+            LocalDateTime watermark = previousState.getLastSyncedAt().minusMinutes(watermarkOverlapMinutes);
+            queryParams += "&updated__gte=" + watermark.format(CLIST_DATE_TIME);
+        }
+
+        return clistApiUrl + "contest/?" + queryParams;
+    }
+
+    // meta.next is a path relative to the API host; resolve it and make sure it still carries our credentials
+    private String resolveNextPageUrl(String next) {
+        HttpUrl base = HttpUrl.parse(clistApiUrl);
+        HttpUrl nextUrl = base != null ? base.resolve(next) : HttpUrl.parse(next);
+        if (nextUrl == null) {
+            return null;
+        }
+        if (nextUrl.queryParameter("api_key") == null) {
+            nextUrl = nextUrl.newBuilder()
+                    .addQueryParameter("username", clistUsername)
+                    .addQueryParameter("api_key", clistApiKey)
+                    .build();
+        }
+        return nextUrl.toString();
+    }
+
+    /**
+     * Execute a clist.by request, retrying failures with backoff.
+     * Returns the open successful response, or null once every attempt has failed.
+     */
+    private Response executeWithRetry(String url, String platformId) throws InterruptedException {
         int maxRetries = 3;
-        int retryCount = 0;
 
-        while (retryCount < maxRetries) {
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            acquireRateLimit(url);
+            System.out.println("Fetching from: " + url);
+
+            //Creates a request to the clist.by API
+            Request request = new Request.Builder()
+                    .url(url)
+                    .addHeader("User-Agent", "Mozilla/5.0 (CodeRadar Contest Fetcher)")
+                    .build();
+
             try {
-                // Build the API URL with correct clist.by format
-                String apiUrl = clistApiUrl + "contest/";
+                Response response = httpClient.newCall(request).execute();
+                if (response.isSuccessful() && response.body() != null) {
+                    return response;
+                }
+                int code = response.code();
+                response.close();
+                System.err.println("Clist API returned status: " + code + " for platform " + platformId);
+                if (code == 429) { // Rate limited
+                    Thread.sleep(5000);
+                }
+            } catch (IOException e) {
+                System.err.println("Error fetching contests for platform " + platformId + " (attempt " + attempt + "): " + e.getMessage());
+            }
 
-                // Get current time for upcoming contests filter
-                String currentTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+            if (attempt < maxRetries) {
+                Thread.sleep(2000L * attempt); // Exponential backoff
+            }
+        }
 
-                String queryParams = "resource_id=" + platformId +
-                        "&start__gte=" + currentTime +
-                        "&order_by=start" +
-                        "&username=" + clistUsername +
-                        "&api_key=" + clistApiKey;
+        return null;
+    }
 
-                String fullUrl = apiUrl + "?" + queryParams;
+    private Response executeWithRetryUnchecked(String url, String platformId) {
+        try {
+            return executeWithRetry(url, platformId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
 
-                System.out.println("Fetching from: " + fullUrl);
+    /**
+     * SHA-256 over the fields we store for each contest on a page. The raw body is no use here: its
+     * meta.next link echoes our start__gte filter, which moves on every run.
+     */
+    private String hashContests(List<Contest> contests) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (Contest contest : contests) {
+            String row = String.join("\u001f", contest.getName(), contest.getPlatform(), contest.getUrl(),
+                    String.valueOf(contest.getStartTime()), String.valueOf(contest.getEndTime())) + "\u001e";
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 
-                //Creates a request to the clist.by API
-                Request request = new Request.Builder()
-                        .url(fullUrl)
-                        .addHeader("User-Agent", "Mozilla/5.0 (CodeRadar Contest Fetcher)")
-                        .build();
+    private ClistSyncState nextSyncState(String platformId, ClistSyncState previousState, LocalDateTime syncStartedAt,
+                                         boolean delta, Map<String, String> pageHashes, int fetchedCount) {
+        return ClistSyncState.builder()
+                .platformId(platformId)
+                .platformName(CLIST_PLATFORMS.get(platformId))
+                .lastSyncedAt(syncStartedAt)
+                .lastFullSyncAt(delta ? previousState.getLastFullSyncAt() : syncStartedAt)
+                .pageHashesByOffset(delta ? previousState.getPageHashesByOffset() : pageHashes)
+                .lastFetchedCount(fetchedCount)
+                .build();
+    }
 
-                //Executes the request if its successful and the body is not null
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        String responseBody = response.body().string();
-                        JsonNode root = objectMapper.readTree(responseBody);
-
-                        if (root.has("objects")) {
-                            JsonNode contestsArray = root.get("objects");
-
-                            for (JsonNode contestNode : contestsArray) {
-                                try {
-                                    Contest contest = parseContestFromClist(contestNode);
-                                    if (contest != null) {
-                                        contests.add(contest);
-                                    }
-                                } catch (Exception parseError) {
-                                    System.err.println("Error parsing contest: " + parseError.getMessage());
-                                }
-                            }
-                        } else if (root.has("detail")) {
-                            // API error response
-                            System.err.println("Clist API error for platform " + platformId + ": " + root.get("detail").asText());
-                            if (root.get("detail").asText().contains("rate limit")) {
-                                // Wait before retry for rate limiting
-                                Thread.sleep(5000);
+    // What a clist.by page carried besides the contests handed to the sink
+    record ClistPage(boolean hasObjects, int objectCount, String detail, String next) {
+    }
+
+    /**
+     * Read a page token by token, materializing one contest object at a time instead of the whole tree.
+     * onNextPage fires as soon as meta.next is read. clist.by sends meta before objects, so the next page
+     * normally starts downloading before any contest is parsed; if meta comes last the page is still read
+     * in full and the prefetch simply starts later.
+     */
+    ClistPage parseClistResponse(InputStream body, Consumer<Contest> sink,
+                                         Consumer<String> onNextPage) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected clist.by response: expected a JSON object");
+            }
+
+            boolean hasObjects = false;
+            int objectCount = 0;
+            String detail = null;
+            String next = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("objects".equals(field) && value == JsonToken.START_ARRAY) {
+                    hasObjects = true;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JsonNode contestNode = parser.readValueAsTree();
+                        objectCount++;
+                        try {
+                            Contest contest = parseContestFromClist(contestNode);
+                            if (contest != null) {
+                                sink.accept(contest);
                             }
-                        }
-                        break; // Success, exit retry loop
-                    } else {
-                        System.err.println("Clist API returned status: " + response.code() + " for platform " + platformId);
-                        if (response.code() == 429) { // Rate limited
-                            Thread.sleep(5000);
+                        } catch (Exception parseError) {
+                            System.err.println("Error parsing contest: " + parseError.getMessage());
                         }
                     }
-                }
-
-            } catch (Exception e) {
-                System.err.println("Error fetching contests for platform " + platformId + " (attempt " + (retryCount + 1) + "): " + e.getMessage());
-                retryCount++;
-                if (retryCount < maxRetries) {
-                    try {
-                        Thread.sleep(2000 * retryCount); // Exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
+                } else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+                    JsonNode meta = parser.readValueAsTree();
+                    JsonNode nextNode = meta.get("next");
+                    if (next == null && nextNode != null && !nextNode.isNull() && !nextNode.asText().isEmpty()) {
+                        next = resolveNextPageUrl(nextNode.asText());
+                        if (next != null) {
+                            onNextPage.accept(next);
+                        }
                     }
+                } else if ("detail".equals(field)) {
+                    detail = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
                 }
             }
-        }
 
-        return contests;
+            return new ClistPage(hasObjects, objectCount, detail, next);
+        }
     }
 
     // Parse contest data from clist.by API response
@@ -273,7 +647,7 @@ public class ContestFetcherService {
                 if (dateTimeStr.contains("+") || dateTimeStr.endsWith("Z")) {
                     dateTimeStr = dateTimeStr.substring(0, dateTimeStr.indexOf("T") + 9);
                 }
-                return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+                return LocalDateTime.parse(dateTimeStr, CLIST_DATE_TIME);
             }
 
             // Fallback for other formats
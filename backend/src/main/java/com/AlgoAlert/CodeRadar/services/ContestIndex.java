@@ -0,0 +1,290 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.util.PlatformKeys;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, in-memory snapshot of all contests.
+ * Contests are kept sorted by start time, overall and per platform, so every read is a binary search
+ * plus a slice. A new snapshot is built after each ingestion and swapped in whole, so readers never lock.
+ * The "upcoming" and "active" views are memoized until the next contest start or end changes them.
+ * Each snapshot also carries a {@link ContestSearchIndex} over the same contests.
+ */
+public final class ContestIndex {
+
+    private static final Comparator<Contest> BY_START_TIME = Comparator
+            .comparing(Contest::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Contest::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final ContestIndex EMPTY = new ContestIndex(Collections.emptyList(), null, LocalDateTime.MIN);
+
+    private final TimeOrderedContests all;
+    private final Map<String, TimeOrderedContests> byPlatform;
+    private final Map<String, Contest> byId;
+    private final Map<String, Long> platformCounts;
+    private final ContestSearchIndex searchIndex;
+    private final LocalDateTime builtAt;
+
+    // Racing writers compute the same view, so last-write-wins is fine
+    private volatile TimeBoundedView upcomingView;
+    private volatile TimeBoundedView activeView;
+
+    private ContestIndex(Collection<Contest> contests, ContestIndex previous, LocalDateTime builtAt) {
+        List<Contest> valid = contests.stream()
+                .filter(contest -> contest.getStartTime() != null && contest.getEndTime() != null)
+                .sorted(BY_START_TIME)
+                .toList();
+
+        this.all = new TimeOrderedContests(valid);
+        this.byPlatform = valid.stream()
+                .filter(contest -> contest.getPlatform() != null)
+                .collect(Collectors.groupingBy(contest -> platformKey(contest.getPlatform())))
+                .entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new TimeOrderedContests(entry.getValue())));
+
+        Map<String, Contest> ids = new HashMap<>();
+        for (Contest contest : valid) {
+            if (contest.getId() != null) {
+                ids.put(contest.getId(), contest);
+            }
+        }
+        this.byId = Collections.unmodifiableMap(ids);
+
+        // Counted once per snapshot, under the platform's display name
+        Map<String, Long> counts = new TreeMap<>();
+        byPlatform.values().forEach(platformContests -> counts.put(
+                platformContests.contests.get(0).getPlatform(), (long) platformContests.contests.size()));
+        this.platformCounts = Collections.unmodifiableMap(counts);
+        this.searchIndex = ContestSearchIndex.build(all.contests, previous != null ? previous.searchIndex : null);
+        this.builtAt = builtAt;
+    }
+
+    public static ContestIndex of(Collection<Contest> contests) {
+        return of(contests, null);
+    }
+
+    // Build a snapshot, reusing whatever the previous one already analyzed
+    public static ContestIndex of(Collection<Contest> contests, ContestIndex previous) {
+        return new ContestIndex(contests, previous, LocalDateTime.now());
+    }
+
+    public static ContestIndex empty() {
+        return EMPTY;
+    }
+
+    private static String platformKey(String platform) {
+        return PlatformKeys.normalize(platform);
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return all.contests.size();
+    }
+
+    public List<Contest> all() {
+        return all.contests;
+    }
+
+    public Contest byId(String id) {
+        return byId.get(id);
+    }
+
+    public List<Contest> upcoming(LocalDateTime now) {
+        TimeBoundedView view = upcomingView;
+        if (view == null || !view.covers(now)) {
+            view = all.upcomingView(now);
+            upcomingView = view;
+        }
+        return view.contests;
+    }
+
+    public List<Contest> activeAt(LocalDateTime time) {
+        TimeBoundedView view = activeView;
+        if (view == null || !view.covers(time)) {
+            view = all.activeView(time);
+            activeView = view;
+        }
+        return view.contests;
+    }
+
+    public List<Contest> startingBetween(LocalDateTime from, LocalDateTime to) {
+        return all.startingBetween(from, to);
+    }
+
+    public List<Contest> byPlatform(String platform) {
+        TimeOrderedContests platformContests = platformIndex(platform);
+        return platformContests != null ? platformContests.contests : Collections.emptyList();
+    }
+
+    public List<Contest> upcomingByPlatform(String platform, LocalDateTime now) {
+        TimeOrderedContests platformContests = platformIndex(platform);
+        return platformContests != null ? platformContests.startingFrom(now) : Collections.emptyList();
+    }
+
+    // Merge several platforms back into start-time order
+    public List<Contest> byPlatforms(Collection<String> platforms) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String platform : platforms) {
+            if (platform != null && !platform.isBlank()) {
+                keys.add(platformKey(platform));
+            }
+        }
+
+        List<Contest> merged = new ArrayList<>();
+        for (String key : keys) {
+            TimeOrderedContests platformContests = byPlatform.get(key);
+            if (platformContests != null) {
+                merged.addAll(platformContests.contests);
+            }
+        }
+        merged.sort(BY_START_TIME);
+        return Collections.unmodifiableList(merged);
+    }
+
+    // Ranked, typo-tolerant search over contest names and platforms
+    public List<Contest> search(String query) {
+        return searchIndex.search(query);
+    }
+
+    // Platform display names present in the snapshot
+    public Set<String> platforms() {
+        return platformCounts.keySet();
+    }
+
+    // Contest count per platform display name, sorted by name
+    public Map<String, Long> platformCounts() {
+        return platformCounts;
+    }
+
+    private TimeOrderedContests platformIndex(String platform) {
+        return platform == null ? null : byPlatform.get(platformKey(platform));
+    }
+
+    /**
+     * A query result together with the time span over which it stays exact.
+     * The span ends at the next contest boundary, so there is no TTL to tune.
+     */
+    private record TimeBoundedView(List<Contest> contests, LocalDateTime validFrom, LocalDateTime validUntil) {
+
+        // validUntil is exclusive; null means nothing later can change the result
+        private boolean covers(LocalDateTime time) {
+            return !time.isBefore(validFrom) && (validUntil == null || time.isBefore(validUntil));
+        }
+    }
+
+    /**
+     * Contests sorted by start time, with a running maximum of end times so that
+     * "active at t" only walks back over contests whose interval can still contain t.
+     */
+    private static final class TimeOrderedContests {
+
+        private final List<Contest> contests;
+        private final LocalDateTime[] startTimes;
+        private final LocalDateTime[] maxEndTimes;
+
+        private TimeOrderedContests(List<Contest> sortedContests) {
+            this.contests = List.copyOf(sortedContests);
+            this.startTimes = new LocalDateTime[contests.size()];
+            this.maxEndTimes = new LocalDateTime[contests.size()];
+
+            LocalDateTime maxEnd = LocalDateTime.MIN;
+            for (int i = 0; i < contests.size(); i++) {
+                Contest contest = contests.get(i);
+                startTimes[i] = contest.getStartTime();
+                if (contest.getEndTime().isAfter(maxEnd)) {
+                    maxEnd = contest.getEndTime();
+                }
+                maxEndTimes[i] = maxEnd;
+            }
+        }
+
+        // Contests with startTime >= time
+        private List<Contest> startingFrom(LocalDateTime time) {
+            return contests.subList(firstStartingAtOrAfter(time), contests.size());
+        }
+
+        // Upcoming contests, valid until the first of them starts and drops out
+        private TimeBoundedView upcomingView(LocalDateTime time) {
+            int first = firstStartingAtOrAfter(time);
+            LocalDateTime validUntil = first < startTimes.length ? startTimes[first].plusNanos(1) : null;
+            return new TimeBoundedView(contests.subList(first, contests.size()), time, validUntil);
+        }
+
+        // Active contests, valid until the next one starts or the earliest running one ends
+        private TimeBoundedView activeView(LocalDateTime time) {
+            List<Contest> active = activeAt(time);
+            int next = firstStartingAfter(time);
+            LocalDateTime validUntil = next < startTimes.length ? startTimes[next] : null;
+            for (Contest contest : active) {
+                LocalDateTime droppedAt = contest.getEndTime().plusNanos(1);
+                if (validUntil == null || droppedAt.isBefore(validUntil)) {
+                    validUntil = droppedAt;
+                }
+            }
+            return new TimeBoundedView(active, time, validUntil);
+        }
+
+        // Contests with from <= startTime <= to
+        private List<Contest> startingBetween(LocalDateTime from, LocalDateTime to) {
+            int fromIndex = firstStartingAtOrAfter(from);
+            int toIndex = firstStartingAfter(to);
+            return fromIndex < toIndex ? contests.subList(fromIndex, toIndex) : Collections.emptyList();
+        }
+
+        // Contests with startTime <= time <= endTime, in start-time order
+        private List<Contest> activeAt(LocalDateTime time) {
+            List<Contest> active = new ArrayList<>();
+            for (int i = firstStartingAfter(time) - 1; i >= 0 && !maxEndTimes[i].isBefore(time); i--) {
+                if (!contests.get(i).getEndTime().isBefore(time)) {
+                    active.add(contests.get(i));
+                }
+            }
+            Collections.reverse(active);
+            return Collections.unmodifiableList(active);
+        }
+
+        private int firstStartingAtOrAfter(LocalDateTime time) {
+            int low = 0;
+            int high = startTimes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startTimes[mid].isBefore(time)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstStartingAfter(LocalDateTime time) {
+            int low = 0;
+            int high = startTimes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startTimes[mid].isAfter(time)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
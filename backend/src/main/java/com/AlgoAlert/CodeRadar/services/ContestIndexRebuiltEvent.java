@@ -0,0 +1,7 @@
+package com.AlgoAlert.CodeRadar.services;
+
+/**
+ * Published after a new {@link ContestIndex} snapshot replaces the previous one.
+ */
+public record ContestIndexRebuiltEvent(ContestIndex previous, ContestIndex current) {
+}
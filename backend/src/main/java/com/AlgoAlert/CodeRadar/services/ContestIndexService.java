@@ -0,0 +1,90 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.repo.ContestRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the current {@link ContestIndex} snapshot.
+ * Mongo stays the source of truth: every write path asks for a rebuild, rebuilds are coalesced onto
+ * a single background thread, and the finished snapshot is published with one volatile write.
+ */
+@Service
+public class ContestIndexService {
+
+    @Autowired
+    private ContestRepository contestRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private volatile ContestIndex index;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private final ExecutorService rebuildExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("contest-index").factory());
+
+    // Build the first snapshot once the application is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Current snapshot; built inline if a request arrives before the startup build
+    public ContestIndex current() {
+        ContestIndex snapshot = index;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = index;
+                if (snapshot == null) {
+                    snapshot = rebuild();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    // Schedule a rebuild; requests that arrive while one is still queued share it
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                // Clear first so writes landing during this rebuild queue another one
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    System.err.println("Error rebuilding contest index: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    // Reload every contest from Mongo and swap in a new snapshot
+    public synchronized ContestIndex rebuild() {
+        long started = System.nanoTime();
+        List<Contest> contests = contestRepository.findAll();
+        ContestIndex previous = index;
+        ContestIndex snapshot = ContestIndex.of(contests, previous);
+        index = snapshot;
+        eventPublisher.publishEvent(new ContestIndexRebuiltEvent(previous, snapshot));
+        System.out.println("Contest index rebuilt with " + snapshot.size() + " contests in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -3,8 +3,8 @@ package com.AlgoAlert.CodeRadar.services;
 import com.AlgoAlert.CodeRadar.model.Contest;
 import com.AlgoAlert.CodeRadar.model.User;
 import com.AlgoAlert.CodeRadar.repo.UserRepository;
+import com.AlgoAlert.CodeRadar.util.ReminderLeadTimes;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -23,91 +23,50 @@ public class ContestNotificationService {
     @Autowired
     private EmailService emailService;
 
-    // Check for contests needing notifications every hour
-    @Scheduled(fixedRate = 60 * 60 * 1000) // 1 hour in milliseconds
-    public void checkAndSendContestNotifications() {
-        System.out.println("Checking for contests needing 12-hour notifications at: " + LocalDateTime.now());
-
-        try {
-            // Get all upcoming contests
-            List<Contest> upcomingContests = contestService.getUpcomingContests();
-            
-            // Find contests that start in approximately 12 hours (11-13 hours window)
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime windowStart = now.plusHours(11);
-            LocalDateTime windowEnd = now.plusHours(13);
-
-            List<Contest> contestsToNotify = upcomingContests.stream()
-                .filter(contest -> contest.getStartTime().isAfter(windowStart) && 
-                                 contest.getStartTime().isBefore(windowEnd))
-                .collect(Collectors.toList());
-
-//            System.out.println("Found " + contestsToNotify.size() + " contests starting in 12 hours");
-
-            // Send notifications for each contest
-            for (Contest contest : contestsToNotify) {
-                sendNotificationsForContest(contest);
-            }
+    @Autowired
+    private SubscriberIndex subscriberIndex;
 
-        } catch (Exception e) {
-//            System.err.println("Error in contest notification check: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
+    @Autowired
+    private EmailDispatcher emailDispatcher;
 
     /**
-     * Send notifications for a specific contest
+     * Send the reminder with the given lead time for a specific contest.
+     * Called by NotificationScheduler when a contest's reminder trigger fires. Returns false if the
+     * reminders could not be queued, so the trigger can be retried.
      */
-    public void sendNotificationsForContest(Contest contest) {
+    public boolean sendNotificationsForContest(Contest contest, int leadMinutes) {
         try {
-            System.out.println("Processing notifications for contest: " + contest.getName() + 
+            System.out.println("Processing " + leadMinutes + "-minute notifications for contest: " + contest.getName() + 
                 " (" + contest.getPlatform() + ")");
 
-            // Get users who want notifications and are subscribed to this platform
-            List<User> usersToNotify = getUsersInterestedInContest(contest);
+            // Get users who want this reminder and are subscribed to this platform
+            List<User> usersToNotify = getUsersInterestedInContest(contest, leadMinutes);
 
             if (usersToNotify.isEmpty()) {
                 System.out.println("No users found for contest notifications: " + contest.getName());
-                return;
+                return true;
             }
 
             System.out.println("Sending notifications to " + usersToNotify.size() + 
                 " users for contest: " + contest.getName());
 
-            // Send notifications
-            emailService.sendContestNotifications(usersToNotify, contest);
+            // Queue in the outbox; the delivery workers pick it up from there
+            int enqueued = emailDispatcher.dispatch(usersToNotify, contest, leadMinutes);
+            System.out.println("Queued " + enqueued + " new notifications for contest: " + contest.getName());
+            return true;
 
         } catch (Exception e) {
             System.err.println("Error sending notifications for contest " + contest.getName() + ": " + e.getMessage());
+            return false;
         }
     }
 
     /**
-     * Get users who should receive notifications for a specific contest
+     * Get users who should receive a reminder for a specific contest: subscribers of its platform plus
+     * users without platform preferences, limited to those who chose this lead time
      */
-    private List<User> getUsersInterestedInContest(Contest contest) {
-        // Get all users with email notifications enabled
-        List<User> usersWithNotifications = userRepository.findUsersWithEmailNotificationsEnabled();
-
-        // Filter users based on their platform preferences
-        return usersWithNotifications.stream()
-            .filter(user -> user.getEmail() != null && !user.getEmail().isEmpty())
-            .filter(user -> isUserInterestedInPlatform(user, contest.getPlatform()))
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Check if user is interested in a specific platform
-     */
-    private boolean isUserInterestedInPlatform(User user, String platform) {
-        // If user has no platform preferences, send notifications for all platforms
-        if (user.getFavPlatforms() == null || user.getFavPlatforms().isEmpty()) {
-            return true;
-        }
-
-        // Check if the contest platform is in user's favorite platforms
-        return user.getFavPlatforms().stream()
-            .anyMatch(favPlatform -> favPlatform.equalsIgnoreCase(platform));
+    private List<User> getUsersInterestedInContest(Contest contest, int leadMinutes) {
+        return subscriberIndex.subscribersFor(contest.getPlatform(), leadMinutes);
     }
 
     /**
@@ -131,7 +90,7 @@ public class ContestNotificationService {
             System.out.println("Sending immediate notifications for " + contestsToNotify.size() + " contests");
 
             for (Contest contest : contestsToNotify) {
-                sendNotificationsForContest(contest);
+                sendImmediateNotification(contest);
             }
 
         } catch (Exception e) {
@@ -140,32 +99,33 @@ public class ContestNotificationService {
         }
     }
 
+    // Everyone subscribed to the platform, as a one-off send: it never takes the outbox key of a
+    // configured reminder, repeats are deduplicated, and the email states the time left when it goes out
+    private void sendImmediateNotification(Contest contest) {
+        try {
+            List<User> usersToNotify = subscriberIndex.subscribersFor(contest.getPlatform());
+            int enqueued = emailDispatcher.dispatch(usersToNotify, contest, ReminderLeadTimes.AD_HOC_LEAD_MINUTES);
+            System.out.println("Queued " + enqueued + " immediate notifications for contest: " + contest.getName());
+        } catch (Exception e) {
+            System.err.println("Error sending notifications for contest " + contest.getName() + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Get notification statistics
      */
     public String getNotificationStatistics() {
         try {
-            List<User> usersWithNotifications = userRepository.findUsersWithEmailNotificationsEnabled();
+            int usersWithNotifications = subscriberIndex.size();
             List<Contest> upcomingContests = contestService.getUpcomingContests();
-
-            // Count contests in next 12 hours
             LocalDateTime now = LocalDateTime.now();
-            LocalDateTime windowStart = now.plusHours(11);
-            LocalDateTime windowEnd = now.plusHours(13);
-
-            long contestsIn12Hours = upcomingContests.stream()
-                .filter(contest -> contest.getStartTime().isAfter(windowStart) && 
-                                 contest.getStartTime().isBefore(windowEnd))
-                .count();
 
             StringBuilder stats = new StringBuilder();
             stats.append("📊 Contest Notification Statistics\n");
             stats.append("═══════════════════════════════════\n");
-            stats.append("👥 Users with notifications enabled: ").append(usersWithNotifications.size()).append("\n");
+            stats.append("👥 Users with notifications enabled: ").append(usersWithNotifications).append("\n");
             stats.append("📅 Total upcoming contests: ").append(upcomingContests.size()).append("\n");
-            stats.append("⏰ Contests starting in ~12 hours: ").append(contestsIn12Hours).append("\n");
             stats.append("🕐 Current time: ").append(now).append("\n");
-            stats.append("📧 Next notification check: ").append(now.plusHours(1)).append("\n");
 
             return stats.toString();
 
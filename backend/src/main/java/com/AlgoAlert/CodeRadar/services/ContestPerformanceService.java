@@ -6,6 +6,9 @@ import com.AlgoAlert.CodeRadar.model.User;
 import com.AlgoAlert.CodeRadar.repo.ContestPerformanceRepository;
 import com.AlgoAlert.CodeRadar.repo.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -28,6 +31,10 @@ public class ContestPerformanceService {
     /**
      * Track contest performance for a user
      */
+    @Caching(evict = {
+            @CacheEvict(value = "analytics", key = "'participation:' + #userId"),
+            @CacheEvict(value = "analytics", key = "'performance:' + #userId")
+    })
     public ContestPerformance trackPerformance(String userId, String contestId, Contest contest, 
                                             boolean wasRegistered, boolean participated, 
                                             Integer rank, Integer score, Integer maxScore) {
@@ -67,6 +74,7 @@ public class ContestPerformanceService {
     /**
      * Get user's participation statistics
      */
+    @Cacheable(value = "analytics", key = "'participation:' + #userId", sync = true)
     public Map<String, Object> getUserParticipationStats(String userId) {
         Map<String, Object> stats = new HashMap<>();
         
@@ -98,6 +106,7 @@ public class ContestPerformanceService {
     /**
      * Get user's performance analytics
      */
+    @Cacheable(value = "analytics", key = "'performance:' + #userId", sync = true)
     public Map<String, Object> getUserPerformanceAnalytics(String userId) {
         Map<String, Object> analytics = new HashMap<>();
         
@@ -172,6 +181,7 @@ public class ContestPerformanceService {
     /**
      * Update performance data for a contest
      */
+    @CacheEvict(value = "analytics", allEntries = true)
     public ContestPerformance updatePerformance(String performanceId, ContestPerformance updatedPerformance) {
         Optional<ContestPerformance> existing = performanceRepository.findById(performanceId);
         if (existing.isPresent()) {
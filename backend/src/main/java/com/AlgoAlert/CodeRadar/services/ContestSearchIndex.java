@@ -0,0 +1,212 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over contest names and platforms, built alongside each {@link ContestIndex} snapshot.
+ * A query term scores against a contest by exact term match, then term prefix, then trigram overlap.
+ * The trigram overlap is what tolerates typos. Each contest is analyzed once: a rebuild reuses the
+ * previous snapshot's analysis for any contest whose text has not changed.
+ */
+public final class ContestSearchIndex {
+
+    private static final double EXACT_SCORE = 3.0;
+    private static final double PREFIX_SCORE = 2.0;
+
+    // Share of a query term's trigrams a contest must contain to count as a fuzzy match
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.5;
+
+    private static final ContestSearchIndex EMPTY = new ContestSearchIndex(Collections.emptyList(), null);
+
+    private final List<Contest> contests;
+    private final Map<String, Analysis> analyses;
+    private final String[] terms;
+    private final int[][] termPostings;
+    private final Map<String, int[]> trigramPostings;
+
+    private ContestSearchIndex(List<Contest> contests, ContestSearchIndex previous) {
+        this.contests = contests;
+        this.analyses = new HashMap<>();
+
+        TreeMap<String, List<Integer>> termDocs = new TreeMap<>();
+        Map<String, List<Integer>> trigramDocs = new HashMap<>();
+
+        for (int doc = 0; doc < contests.size(); doc++) {
+            String text = documentText(contests.get(doc));
+            Analysis analysis = analyses.get(text);
+            if (analysis == null && previous != null) {
+                analysis = previous.analyses.get(text);
+            }
+            if (analysis == null) {
+                analysis = Analysis.of(text);
+            }
+            analyses.put(text, analysis);
+
+            for (String term : analysis.terms()) {
+                termDocs.computeIfAbsent(term, key -> new ArrayList<>()).add(doc);
+            }
+            for (String trigram : analysis.trigrams()) {
+                trigramDocs.computeIfAbsent(trigram, key -> new ArrayList<>()).add(doc);
+            }
+        }
+
+        this.terms = termDocs.keySet().toArray(new String[0]);
+        this.termPostings = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            termPostings[i] = toArray(termDocs.get(terms[i]));
+        }
+
+        this.trigramPostings = new HashMap<>(trigramDocs.size() * 2);
+        trigramDocs.forEach((trigram, docs) -> trigramPostings.put(trigram, toArray(docs)));
+    }
+
+    static ContestSearchIndex build(List<Contest> contests, ContestSearchIndex previous) {
+        return contests.isEmpty() ? EMPTY : new ContestSearchIndex(contests, previous);
+    }
+
+    /**
+     * All contests matching every query term, best match first.
+     * Equal scores fall back to the most recent start time.
+     */
+    public List<Contest> search(String query) {
+        String[] queryTerms = tokenize(query);
+        if (queryTerms.length == 0 || contests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int docCount = contests.size();
+        double[] scores = new double[docCount];
+        int[] matchedTerms = new int[docCount];
+        double[] termScores = new double[docCount];
+        int[] sharedTrigrams = new int[docCount];
+
+        for (String queryTerm : queryTerms) {
+            Arrays.fill(termScores, 0);
+            scoreTermMatches(queryTerm, termScores);
+            scoreTrigramMatches(queryTerm, termScores, sharedTrigrams);
+
+            for (int doc = 0; doc < docCount; doc++) {
+                if (termScores[doc] > 0) {
+                    scores[doc] += termScores[doc];
+                    matchedTerms[doc]++;
+                }
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int doc = 0; doc < docCount; doc++) {
+            if (matchedTerms[doc] == queryTerms.length) {
+                hits.add(doc);
+            }
+        }
+
+        hits.sort(Comparator.<Integer>comparingDouble(doc -> -scores[doc])
+                .thenComparing(doc -> contests.get(doc).getStartTime(), Comparator.reverseOrder()));
+
+        List<Contest> ranked = new ArrayList<>(hits.size());
+        for (int doc : hits) {
+            ranked.add(contests.get(doc));
+        }
+        return Collections.unmodifiableList(ranked);
+    }
+
+    // Exact and prefix matches: the terms starting with queryTerm form one contiguous range of the sorted terms
+    private void scoreTermMatches(String queryTerm, double[] termScores) {
+        for (int i = firstTermAtOrAfter(queryTerm); i < terms.length && terms[i].startsWith(queryTerm); i++) {
+            double score = terms[i].length() == queryTerm.length() ? EXACT_SCORE : PREFIX_SCORE;
+            for (int doc : termPostings[i]) {
+                termScores[doc] = Math.max(termScores[doc], score);
+            }
+        }
+    }
+
+    // Fuzzy matches: share of the query term's trigrams that also occur in the contest
+    private void scoreTrigramMatches(String queryTerm, double[] termScores, int[] sharedTrigrams) {
+        Set<String> queryTrigrams = trigrams(queryTerm);
+        Arrays.fill(sharedTrigrams, 0);
+        for (String trigram : queryTrigrams) {
+            int[] docs = trigramPostings.get(trigram);
+            if (docs != null) {
+                for (int doc : docs) {
+                    sharedTrigrams[doc]++;
+                }
+            }
+        }
+
+        for (int doc = 0; doc < sharedTrigrams.length; doc++) {
+            if (sharedTrigrams[doc] > 0) {
+                double similarity = (double) sharedTrigrams[doc] / queryTrigrams.size();
+                if (similarity >= MIN_TRIGRAM_SIMILARITY) {
+                    termScores[doc] = Math.max(termScores[doc], similarity);
+                }
+            }
+        }
+    }
+
+    private int firstTermAtOrAfter(String term) {
+        int position = Arrays.binarySearch(terms, term);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private static String documentText(Contest contest) {
+        String name = contest.getName() != null ? contest.getName() : "";
+        String platform = contest.getPlatform() != null ? contest.getPlatform() : "";
+        return name + " " + platform;
+    }
+
+    // Lowercase alphanumeric runs, without duplicates
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    // Trigrams of the term padded with '$', so even one- and two-letter terms have some
+    private static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static int[] toArray(List<Integer> docs) {
+        int[] result = new int[docs.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = docs.get(i);
+        }
+        return result;
+    }
+
+    private record Analysis(String[] terms, Set<String> trigrams) {
+
+        private static Analysis of(String text) {
+            String[] terms = tokenize(text);
+            Set<String> trigrams = new LinkedHashSet<>();
+            for (String term : terms) {
+                trigrams.addAll(ContestSearchIndex.trigrams(term));
+            }
+            return new Analysis(terms, trigrams);
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package com.AlgoAlert.CodeRadar.services;
 
+import com.AlgoAlert.CodeRadar.dto.ContestSearchPage;
+import com.AlgoAlert.CodeRadar.dto.ContestStats;
+import com.AlgoAlert.CodeRadar.dto.ContestUpsertResult;
 import com.AlgoAlert.CodeRadar.model.Contest;
 import com.AlgoAlert.CodeRadar.repo.ContestRepository;
+import com.mongodb.bulk.BulkWriteResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -14,51 +24,78 @@ import java.util.Optional;
 @Service
 public class ContestService {
 
+    // Contests per bulk write; keeps each request well under Mongo's message size limit
+    private static final int BULK_BATCH_SIZE = 500;
+
     @Autowired
     private ContestRepository contestRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ContestIndexService contestIndexService;
+
+    // Reads are served from the in-memory index; Mongo is only read when the index is rebuilt
+
     // Get all contests
-    @Cacheable(value = "contests", key = "'all'")
     public List<Contest> getAllContests() {
-        return contestRepository.findAllByOrderByStartTimeAsc();
+        return contestIndexService.current().all();
     }
 
     // Get upcoming contests
-    @Cacheable(value = "contests", key = "'upcoming'")
     public List<Contest> getUpcomingContests() {
-        return contestRepository.findUpcomingContests(LocalDateTime.now());
+        return contestIndexService.current().upcoming(LocalDateTime.now());
     }
 
     // Get contests by platform
-    @Cacheable(value = "contests", key = "#platform")
     public List<Contest> getContestsByPlatform(String platform) {
-        return contestRepository.findByPlatformIgnoreCase(platform);
+        return contestIndexService.current().byPlatform(platform);
     }
 
     // Get upcoming contests by platform
-    @Cacheable(value = "contests", key = "'upcoming_' + #platform")
     public List<Contest> getUpcomingContestsByPlatform(String platform) {
-        return contestRepository.findUpcomingContestsByPlatformIgnoreCase(platform, LocalDateTime.now());
+        return contestIndexService.current().upcomingByPlatform(platform, LocalDateTime.now());
     }
 
     // Get active contests (currently running)
-    @Cacheable(value = "contests", key = "'active'")
     public List<Contest> getActiveContests() {
-        return contestRepository.findActiveContests(LocalDateTime.now());
+        return contestIndexService.current().activeAt(LocalDateTime.now());
     }
 
     // Get contests within a date range
     public List<Contest> getContestsBetween(LocalDateTime startTime, LocalDateTime endTime) {
-        return contestRepository.findContestsBetween(startTime, endTime);
+        return contestIndexService.current().startingBetween(startTime, endTime);
     }
 
     // Get contests by multiple platforms
     public List<Contest> getContestsByPlatforms(List<String> platforms) {
-        return contestRepository.findByPlatformIn(platforms);
+        return contestIndexService.current().byPlatforms(platforms);
     }
 
-    // Save a contest (avoiding duplicates)
+    // Every match for a query, for callers that do not page; cached until the index changes
+    @Cacheable(value = "contests", key = "'search:' + #query.trim().toLowerCase() + ':all'")
+    public ContestSearchPage searchContests(String query) {
+        List<Contest> ranked = contestIndexService.current().search(query);
+        return new ContestSearchPage(query, 0, ranked.size(), ranked.size(), ranked);
+    }
+
+    // Search contests by name and platform; result pages are cached until the index changes
+    @Cacheable(value = "contests", key = "'search:' + #query.trim().toLowerCase() + ':' + #page + ':' + #size")
+    public ContestSearchPage searchContests(String query, int page, int size) {
+        List<Contest> ranked = contestIndexService.current().search(query);
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        return new ContestSearchPage(query, page, size, ranked.size(), ranked.subList(from, to));
+    }
+
+    // Drop cached contest results whenever a new index snapshot is published
+    @EventListener
     @CacheEvict(value = "contests", allEntries = true)
+    public void onContestIndexRebuilt(ContestIndexRebuiltEvent event) {
+    }
+
+    // Save a contest (avoiding duplicates)
     public Contest saveContest(Contest contest) {
         // Check if contest already exists
         Optional<Contest> existingContest = contestRepository.findByNameAndPlatform(
@@ -73,54 +110,122 @@ public class ContestService {
             existing.setDurationMinutes(contest.getDurationMinutes());
             existing.setDescription(contest.getDescription());
             existing.setFetchedAt(LocalDateTime.now());
-            return contestRepository.save(existing);
+            Contest saved = contestRepository.save(existing);
+            contestIndexService.requestRebuild();
+            return saved;
         } else {
             // Save new contest
             contest.setFetchedAt(LocalDateTime.now());
-            return contestRepository.save(contest);
+            Contest saved = contestRepository.save(contest);
+            contestIndexService.requestRebuild();
+            return saved;
         }
     }
 
-    // Save multiple contests
-    public List<Contest> saveContests(List<Contest> contests) {
-        return contests.stream()
-                .map(this::saveContest)
-                .toList();
+    // Save multiple contests as unordered bulk upserts keyed on the unique (name, platform) index
+    public ContestUpsertResult saveContests(List<Contest> contests) {
+        ContestUpsertResult result = new ContestUpsertResult();
+        LocalDateTime fetchedAt = LocalDateTime.now();
+
+        for (int from = 0; from < contests.size(); from += BULK_BATCH_SIZE) {
+            List<Contest> batch = contests.subList(from, Math.min(from + BULK_BATCH_SIZE, contests.size()));
+            result = result.add(upsertBatch(batch, fetchedAt));
+        }
+
+        if (result.getInserted() > 0 || result.getUpdated() > 0) {
+            contestIndexService.requestRebuild();
+        }
+
+        return result;
+    }
+
+    private ContestUpsertResult upsertBatch(List<Contest> batch, LocalDateTime fetchedAt) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Contest.class);
+
+        for (Contest contest : batch) {
+            Criteria key = Criteria.where("name").is(contest.getName()).and("platform").is(contest.getPlatform());
+
+            // Update only when something actually changed, so fetchedAt keeps meaning "last changed"
+            Criteria changed = new Criteria().orOperator(
+                    Criteria.where("url").ne(contest.getUrl()),
+                    Criteria.where("startTime").ne(contest.getStartTime()),
+                    Criteria.where("endTime").ne(contest.getEndTime()),
+                    Criteria.where("durationMinutes").ne(contest.getDurationMinutes()),
+                    Criteria.where("description").ne(contest.getDescription()));
+            bulkOps.updateOne(new Query(new Criteria().andOperator(key, changed)), new Update()
+                    .set("url", contest.getUrl())
+                    .set("startTime", contest.getStartTime())
+                    .set("endTime", contest.getEndTime())
+                    .set("durationMinutes", contest.getDurationMinutes())
+                    .set("description", contest.getDescription())
+                    .set("fetchedAt", fetchedAt));
+
+            // Insert when missing; matches without modifying when the contest already exists
+            bulkOps.upsert(new Query(key), new Update()
+                    .setOnInsert("url", contest.getUrl())
+                    .setOnInsert("startTime", contest.getStartTime())
+                    .setOnInsert("endTime", contest.getEndTime())
+                    .setOnInsert("durationMinutes", contest.getDurationMinutes())
+                    .setOnInsert("description", contest.getDescription())
+                    .setOnInsert("fetchedAt", fetchedAt));
+        }
+
+        BulkWriteResult writeResult = bulkOps.execute();
+
+        // Every existing contest is matched once by its upsert, and changed ones once more by their update
+        int inserted = writeResult.getUpserts().size();
+        int updated = writeResult.getModifiedCount();
+        int unchanged = writeResult.getMatchedCount() - 2 * updated;
+        return new ContestUpsertResult(inserted, updated, unchanged);
     }
 
     // Delete old contests (older than specified days)
     public void deleteOldContests(int daysOld) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
         contestRepository.deleteOldContests(cutoffDate);
+        contestIndexService.requestRebuild();
     }
 
-    // Get contest by ID
+    // Get contest by ID, falling back to Mongo for contests saved since the last rebuild
     public Optional<Contest> getContestById(String id) {
-        return contestRepository.findById(id);
+        Contest indexed = contestIndexService.current().byId(id);
+        return indexed != null ? Optional.of(indexed) : contestRepository.findById(id);
     }
 
     // Delete contest by ID
     public void deleteContestById(String id) {
         contestRepository.deleteById(id);
+        contestIndexService.requestRebuild();
+    }
+
+    // Get total, upcoming, active and per-platform counts from a single index snapshot
+    public ContestStats getContestStats() {
+        ContestIndex index = contestIndexService.current();
+        LocalDateTime now = LocalDateTime.now();
+        return new ContestStats(
+                index.size(),
+                index.upcoming(now).size(),
+                index.activeAt(now).size(),
+                index.platformCounts());
     }
 
     // Get contest count by platform
     public long getContestCountByPlatform(String platform) {
-        return contestRepository.countByPlatformIgnoreCase(platform);
+        return contestIndexService.current().byPlatform(platform).size();
     }
 
     // Get total contest count
     public long getTotalContestCount() {
-        return contestRepository.count();
+        return contestIndexService.current().size();
     }
 
     // Get upcoming contests count
     public long getUpcomingContestCount() {
-        return contestRepository.countUpcomingContests(LocalDateTime.now());
+        return contestIndexService.current().upcoming(LocalDateTime.now()).size();
     }
 
     // Get active contests count
     public long getActiveContestCount() {
-        return contestRepository.countActiveContests(LocalDateTime.now());
+        return contestIndexService.current().activeAt(LocalDateTime.now()).size();
     }
 }
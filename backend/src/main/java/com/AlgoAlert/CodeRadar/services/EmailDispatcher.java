@@ -0,0 +1,310 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.model.EmailNotification;
+import com.AlgoAlert.CodeRadar.model.User;
+import com.AlgoAlert.CodeRadar.util.LatencyRecorder;
+import com.AlgoAlert.CodeRadar.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers contest notification emails from the {@link NotificationOutbox}.
+ * A claimer thread leases due rows in batches into a bounded in-memory queue. In digest mode it groups
+ * a user's rows for one window into a single delivery, which is sent as one email. It blocks while the queue
+ * is full, so it never leases more than the workers can get to. A pool of virtual-thread workers sends
+ * each row and acks or fails it. Each send first takes a token from the global bucket and then, unless the
+ * recipient is on a large mailbox provider, one from its domain's bucket, so a large alert neither floods
+ * the SMTP relay nor trips a small provider's limits. With the defaults 50k recipients drain in about
+ * 8 minutes.
+ */
+@Service
+public class EmailDispatcher {
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private NotificationOutbox outbox;
+
+    @Autowired
+    private ContestIndexService contestIndexService;
+
+    @Value("${notifications.email.workers:32}")
+    private int workerCount;
+
+    @Value("${notifications.email.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${notifications.email.claim-batch-size:100}")
+    private int claimBatchSize;
+
+    // How often the outbox is drained when nothing wakes the claimer: retries, expired leases
+    @Value("${notifications.email.poll-ms:30000}")
+    private long pollMillis;
+
+    @Value("${notifications.email.rate-limit.per-second:100}")
+    private double globalPerSecond;
+
+    @Value("${notifications.email.rate-limit.burst:200}")
+    private long globalBurst;
+
+    @Value("${notifications.email.rate-limit.per-domain-per-second:5}")
+    private double domainPerSecond;
+
+    @Value("${notifications.email.rate-limit.per-domain-burst:10}")
+    private long domainBurst;
+
+    // Providers that accept far more than the per-domain rate; only the global bucket applies to them
+    @Value("${notifications.email.rate-limit.unthrottled-domains:gmail.com,googlemail.com,outlook.com,hotmail.com,live.com,yahoo.com,icloud.com}")
+    private String unthrottledDomainList;
+
+    private Set<String> unthrottledDomains;
+
+    private BlockingQueue<List<EmailNotification>> queue;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private TokenBucket globalRateLimiter;
+    private final Map<String, TokenBucket> domainRateLimiters = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong digestsSent = new AtomicLong();
+    private final AtomicLong leasesLost = new AtomicLong();
+    private final LatencyRecorder sendLatency = new LatencyRecorder(4096);
+    private final LatencyRecorder endToEndLatency = new LatencyRecorder(4096);
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        globalRateLimiter = new TokenBucket(globalBurst, globalPerSecond);
+        unthrottledDomains = new HashSet<>();
+        for (String domain : unthrottledDomainList.split(",")) {
+            if (!domain.isBlank()) {
+                unthrottledDomains.add(domain.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("email-worker-", 0).factory());
+        workers.execute(this::runClaimer);
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::runWorker);
+        }
+    }
+
+    /**
+     * Enqueue one outbox row per user for this reminder and wake the claimer; returns how many were newly queued
+     */
+    public int dispatch(List<User> users, Contest contest, int leadMinutes) {
+        int enqueued = outbox.enqueue(users, contest, leadMinutes);
+        if (enqueued > 0) {
+            wakeUp.release();
+        }
+        return enqueued;
+    }
+
+    /**
+     * Drain the outbox now instead of waiting for the next poll
+     */
+    public void drain() {
+        wakeUp.release();
+    }
+
+    private void runClaimer() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                int wanted = Math.max(1, Math.min(claimBatchSize, queue.remainingCapacity()));
+                List<EmailNotification> claimed = outbox.claim(wanted);
+                for (List<EmailNotification> delivery : groupDigests(claimed)) {
+                    queue.put(delivery);
+                }
+                if (claimed.size() < wanted) {
+                    // Outbox drained: sleep until new work is dispatched or the next poll
+                    wakeUp.tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                System.err.println("Email outbox claim error: " + e.getMessage());
+                try {
+                    wakeUp.tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // One delivery per row, except rows sharing a digest key, which become one delivery with all their siblings
+    private List<List<EmailNotification>> groupDigests(List<EmailNotification> claimed) {
+        List<List<EmailNotification>> deliveries = new ArrayList<>();
+        Set<String> digestKeys = new HashSet<>();
+        for (EmailNotification notification : claimed) {
+            String digestKey = notification.getDigestKey();
+            if (digestKey == null) {
+                deliveries.add(List.of(notification));
+            } else if (digestKeys.add(digestKey)) {
+                deliveries.add(outbox.claimDigest(digestKey, notification.getLeaseOwner()));
+            }
+        }
+        return deliveries;
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                deliver(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                System.err.println("Email worker error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void deliver(List<EmailNotification> delivery) throws InterruptedException {
+        List<EmailNotification> sendable = new ArrayList<>(delivery.size());
+        List<Contest> contests = new ArrayList<>(delivery.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EmailNotification> byStartTime = new ArrayList<>(delivery);
+        byStartTime.sort(Comparator.comparing(EmailNotification::getContestStartTime,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        for (EmailNotification notification : byStartTime) {
+            if (!outbox.hasAttemptsLeft(notification)) {
+                outbox.fail(notification, "Lease expired too many times");
+                failed.incrementAndGet();
+                continue;
+            }
+
+            Contest contest = contestIndexService.current().byId(notification.getContestId());
+            if (contest == null || !contest.getStartTime().isAfter(now)) {
+                outbox.skip(notification, contest == null ? "Contest no longer exists" : "Contest already started");
+                skipped.incrementAndGet();
+                continue;
+            }
+            sendable.add(notification);
+            contests.add(contest);
+        }
+        if (sendable.isEmpty()) {
+            return;
+        }
+
+        globalRateLimiter.acquire();
+        TokenBucket domainLimiter = domainRateLimiter(sendable.get(0).getEmailAddress());
+        if (domainLimiter != null) {
+            domainLimiter.acquire();
+        }
+
+        // Waiting in the queue or on the limiters can outlast the lease, and a row re-claimed meanwhile
+        // belongs to another worker now; sending it here as well would email the user twice
+        List<EmailNotification> stillLeased = outbox.renewLease(sendable);
+        if (stillLeased.size() < sendable.size()) {
+            leasesLost.addAndGet(sendable.size() - stillLeased.size());
+            List<Contest> leasedContests = new ArrayList<>(stillLeased.size());
+            for (int i = 0; i < sendable.size(); i++) {
+                if (stillLeased.contains(sendable.get(i))) {
+                    leasedContests.add(contests.get(i));
+                }
+            }
+            sendable = stillLeased;
+            contests = leasedContests;
+            if (sendable.isEmpty()) {
+                return;
+            }
+        }
+
+        // Taken only after the lease check: a row lost above belongs to another worker and must not
+        // supply the address, name or lead time of this send. Rows snapshot the address when enqueued,
+        // so if the recipient now sits on another domain, wait on that domain's bucket instead.
+        EmailNotification first = sendable.get(0);
+        TokenBucket recipientLimiter = domainRateLimiter(first.getEmailAddress());
+        if (recipientLimiter != domainLimiter && recipientLimiter != null) {
+            recipientLimiter.acquire();
+        }
+        long started = System.nanoTime();
+        try {
+            if (contests.size() == 1) {
+                emailService.sendContestEmail(first.getEmailAddress(), first.getUserName(), contests.get(0),
+                        first.getLeadMinutes());
+            } else {
+                emailService.sendDigestEmail(first.getEmailAddress(), first.getUserName(), contests);
+                digestsSent.incrementAndGet();
+            }
+            outbox.ackAll(sendable);
+            delivered.addAndGet(sendable.size());
+        } catch (Exception e) {
+            for (EmailNotification notification : sendable) {
+                outbox.fail(notification, e.getMessage());
+            }
+            failed.addAndGet(sendable.size());
+            System.err.println("Failed to send email to " + first.getEmailAddress() + ": " + e.getMessage());
+        }
+        long finished = System.nanoTime();
+
+        sendLatency.record(finished - started);
+        for (EmailNotification notification : sendable) {
+            if (notification.getEnqueuedAt() != null) {
+                endToEndLatency.record(Duration.between(notification.getEnqueuedAt(), LocalDateTime.now()).toNanos());
+            }
+        }
+    }
+
+    // Null for the large providers, which are only held to the global rate
+    private TokenBucket domainRateLimiter(String email) {
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        String domain = at >= 0 ? email.substring(at + 1).toLowerCase(Locale.ROOT) : "";
+        if (unthrottledDomains.contains(domain)) {
+            return null;
+        }
+        return domainRateLimiters.computeIfAbsent(domain, key -> new TokenBucket(domainBurst, domainPerSecond));
+    }
+
+    /**
+     * Queue depth, delivery counters and latency percentiles
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("workers", workerCount);
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("delivered", delivered.get());
+        stats.put("failed", failed.get());
+        stats.put("skipped", skipped.get());
+        stats.put("digestsSent", digestsSent.get());
+        stats.put("leasesLost", leasesLost.get());
+        stats.put("outbox", outbox.countByStatus());
+        stats.put("domains", domainRateLimiters.size());
+        stats.put("sendLatency", sendLatency.snapshot());
+        stats.put("endToEndLatency", endToEndLatency.snapshot());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -1,23 +1,25 @@
 package com.AlgoAlert.CodeRadar.services;
 
+import com.AlgoAlert.CodeRadar.enums.EmailNotificationStatus;
 import com.AlgoAlert.CodeRadar.model.Contest;
 import com.AlgoAlert.CodeRadar.model.User;
 import com.AlgoAlert.CodeRadar.model.EmailNotification;
 import com.AlgoAlert.CodeRadar.repo.EmailNotificationRepository;
+import com.AlgoAlert.CodeRadar.util.ReminderLeadTimes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class EmailService {
@@ -26,7 +28,10 @@ public class EmailService {
     private JavaMailSender mailSender;
 
     @Autowired
-    private TemplateEngine templateEngine;
+    private ContestEmailRenderer contestEmailRenderer;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
 
     @Autowired
     private EmailNotificationRepository emailNotificationRepository;
@@ -34,16 +39,27 @@ public class EmailService {
     @Value("${spring.mail.username:noreply@coderadar.com}")
     private String fromEmail;
 
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     @Value("${app.name:CodeRadar}")
     private String appName;
 
     /**
-     * Send contest notification email to a user
+     * Send a one-off contest notification email to a user; sent at most once per user and contest
      */
     public boolean sendContestNotification(User user, Contest contest) {
+        return sendContestNotification(user, contest, ReminderLeadTimes.AD_HOC_LEAD_MINUTES);
+    }
+
+    /**
+     * Send the reminder with the given configured lead time to a user, unless it was already sent
+     */
+    public boolean sendContestNotification(User user, Contest contest, int leadMinutes) {
         try {
             // Check if notification already sent
-            if (emailNotificationRepository.existsByUserIdAndContestId(user.getId(), contest.getId())) {
+            Optional<EmailNotification> existing = emailNotificationRepository
+                    .findByUserIdAndContestIdAndLeadMinutes(user.getId(), contest.getId(), leadMinutes);
+            if (existing.isPresent() && existing.get().isDelivered()) {
                 System.out.println("Notification already sent to " + user.getEmail() + " for contest " + contest.getName());
                 return true;
             }
@@ -55,29 +71,25 @@ public class EmailService {
                 .contestName(contest.getName())
                 .platform(contest.getPlatform())
                 .contestStartTime(contest.getStartTime())
+                .leadMinutes(leadMinutes)
                 .emailAddress(user.getEmail())
+                .userName(displayName(user))
                 .notificationSentAt(java.time.LocalDateTime.now())
                 .delivered(false)
+                .attempts(1)
                 .build();
+            // Retrying an earlier failed send updates its record; a second insert would break the unique index
+            existing.ifPresent(previous -> {
+                notification.setId(previous.getId());
+                notification.setAttempts(previous.getAttempts() + 1);
+            });
 
             try {
-                // Send the email
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-                helper.setFrom(fromEmail);
-                helper.setTo(user.getEmail());
-                helper.setSubject("🚨 Contest Alert: " + contest.getName() + " starts in 12 hours!");
-
-                // Generate email content
-                String emailContent = generateContestNotificationEmail(user, contest);
-                helper.setText(emailContent, true);
-
-                // Send email
-                mailSender.send(message);
+                sendContestEmail(user.getEmail(), displayName(user), contest, leadMinutes);
 
                 // Mark as delivered
                 notification.setDelivered(true);
+                notification.setStatus(EmailNotificationStatus.SENT);
                 emailNotificationRepository.save(notification);
 
                 System.out.println("Contest notification sent successfully to " + user.getEmail() + 
@@ -87,6 +99,7 @@ public class EmailService {
             } catch (MailException | MessagingException e) {
                 // Mark as failed
                 notification.setDelivered(false);
+                notification.setStatus(EmailNotificationStatus.FAILED);
                 notification.setFailureReason(e.getMessage());
                 emailNotificationRepository.save(notification);
 
@@ -101,102 +114,42 @@ public class EmailService {
     }
 
     /**
-     * Send contest notifications to multiple users
+     * Render and send one contest notification email; record keeping is left to the caller.
+     * A one-off send (AD_HOC_LEAD_MINUTES) says how long is actually left at the moment it goes out.
      */
-    public void sendContestNotifications(List<User> users, Contest contest) {
-        System.out.println("Sending contest notifications for: " + contest.getName() + " to " + users.size() + " users");
-        
-        int successCount = 0;
-        int failureCount = 0;
-
-        for (User user : users) {
-            try {
-                if (sendContestNotification(user, contest)) {
-                    successCount++;
-                } else {
-                    failureCount++;
-                }
-                
-                // Add small delay to avoid overwhelming email server
-                Thread.sleep(100);
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                failureCount++;
-                System.err.println("Error sending notification to " + user.getEmail() + ": " + e.getMessage());
-            }
-        }
-
-        System.out.println("Contest notification summary - Success: " + successCount + ", Failed: " + failureCount);
+    public void sendContestEmail(String toEmail, String userName, Contest contest, int leadMinutes)
+            throws MessagingException {
+        int timeUntilMinutes = leadMinutes != ReminderLeadTimes.AD_HOC_LEAD_MINUTES
+                ? leadMinutes
+                : (int) Math.max(1, java.time.Duration.between(LocalDateTime.now(), contest.getStartTime()).toMinutes());
+
+        // Rendered once per contest and lead time; only the name differs between recipients
+        sendRenderedEmail(toEmail, userName, contestEmailRenderer.render(contest, timeUntilMinutes));
     }
 
     /**
-     * Generate HTML email content for contest notification
+     * Render and send one digest email covering several contests
      */
-    private String generateContestNotificationEmail(User user, Contest contest) {
-        try {
-            Context context = new Context();
-            
-            // Add variables to template context
-            context.setVariable("userName", user.getFullName() != null ? user.getFullName() : user.getUsername());
-            context.setVariable("contestName", contest.getName());
-            context.setVariable("platform", contest.getPlatform());
-            context.setVariable("contestUrl", contest.getUrl());
-            context.setVariable("startTime", contest.getStartTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            context.setVariable("endTime", contest.getEndTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            context.setVariable("duration", contest.getDurationMinutes() + " minutes");
-            context.setVariable("appName", appName);
-            context.setVariable("currentYear", LocalDateTime.now().getYear());
-
-            // Calculate time until contest
-            LocalDateTime now = LocalDateTime.now();
-            long hoursUntil = java.time.Duration.between(now, contest.getStartTime()).toHours();
-            context.setVariable("hoursUntil", hoursUntil);
-
-            // Process template
-            return templateEngine.process("contest-notification", context);
+    public void sendDigestEmail(String toEmail, String userName, List<Contest> contests) throws MessagingException {
+        sendRenderedEmail(toEmail, userName, contestEmailRenderer.renderDigest(contests));
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error generating email template: " + e.getMessage());
-            // Fallback to simple text email
-            return generateSimpleTextEmail(user, contest);
-        }
+    // Same message layout as MimeMessageHelper.setText, but the subject and body come pre-encoded from the shared render
+    private void sendRenderedEmail(String toEmail, String userName, ContestEmailRenderer.RenderedContestEmail email)
+            throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(toEmail);
+        message.setHeader("Subject", email.encodedSubject());
+        helper.getMimeMultipart().addBodyPart(email.htmlPartFor(userName));
+
+        smtpTransportPool.send(message);
     }
 
-    /**
-     * Generate simple text email as fallback
-     */
-    private String generateSimpleTextEmail(User user, Contest contest) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<!DOCTYPE html>");
-        sb.append("<html><head><title>Contest Notification</title></head><body>");
-        sb.append("<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;'>");
-        
-        sb.append("<h2 style='color: #2c3e50;'>🚨 Contest Alert!</h2>");
-        sb.append("<p>Hi ").append(user.getFullName() != null ? user.getFullName() : user.getUsername()).append(",</p>");
-        
-        sb.append("<p>This is a reminder that the contest <strong>").append(contest.getName()).append("</strong> ");
-        sb.append("on <strong>").append(contest.getPlatform()).append("</strong> is starting in approximately 12 hours!</p>");
-        
-        sb.append("<div style='background-color: #f8f9fa; padding: 15px; border-left: 4px solid #007bff; margin: 20px 0;'>");
-        sb.append("<h3 style='margin-top: 0; color: #495057;'>Contest Details:</h3>");
-        sb.append("<p><strong>Contest:</strong> ").append(contest.getName()).append("</p>");
-        sb.append("<p><strong>Platform:</strong> ").append(contest.getPlatform()).append("</p>");
-        sb.append("<p><strong>Start Time:</strong> ").append(contest.getStartTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("</p>");
-        sb.append("<p><strong>Duration:</strong> ").append(contest.getDurationMinutes()).append(" minutes</p>");
-        sb.append("</div>");
-        
-        sb.append("<p><a href='").append(contest.getUrl()).append("' style='background-color: #007bff; color: white; padding: 10px 20px; text-decoration: none; border-radius: 5px;'>Join Contest</a></p>");
-        
-        sb.append("<p>Good luck and happy coding! 🚀</p>");
-        sb.append("<hr style='margin: 30px 0;'>");
-        sb.append("<p style='color: #6c757d; font-size: 12px;'>You received this email because you have contest notifications enabled in your ").append(appName).append(" account.</p>");
-        
-        sb.append("</div></body></html>");
-        
-        return sb.toString();
+    private static String displayName(User user) {
+        return user.getFullName() != null ? user.getFullName() : user.getUsername();
     }
 
     /**
@@ -212,7 +165,7 @@ public class EmailService {
             helper.setSubject("Test Email from " + appName);
             helper.setText(generateTestEmailContent(), true);
 
-            mailSender.send(message);
+            smtpTransportPool.send(message);
             System.out.println("Test email sent successfully to " + toEmail);
             return true;
 
@@ -232,41 +185,23 @@ public class EmailService {
                "<h2 style='color: #28a745;'>✅ Email Configuration Test</h2>" +
                "<p>This is a test email to verify that your " + appName + " email configuration is working correctly.</p>" +
                "<p>If you received this email, your email notifications are set up properly!</p>" +
-               "<p><strong>Timestamp:</strong> " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "</p>" +
+               "<p><strong>Timestamp:</strong> " + LocalDateTime.now().format(DATE_TIME_FORMAT) + "</p>" +
                "<hr>" +
                "<p style='color: #6c757d; font-size: 12px;'>This is an automated test email from " + appName + ".</p>" +
                "</div></body></html>";
     }
 
     /**
-     * Retry failed notifications
-     */
-    public void retryFailedNotifications() {
-        List<EmailNotification> failedNotifications = emailNotificationRepository.findFailedNotifications();
-        System.out.println("Retrying " + failedNotifications.size() + " failed notifications");
-
-        for (EmailNotification notification : failedNotifications) {
-            try {
-                // Only retry notifications that are not too old (within 24 hours)
-                if (notification.getNotificationSentAt().isAfter(LocalDateTime.now().minusHours(24))) {
-                    // Here you would need to fetch user and contest data to retry
-                    // For now, just log the attempt
-                    System.out.println("Would retry notification for user: " + notification.getUserId() + 
-                        ", contest: " + notification.getContestName());
-                }
-            } catch (Exception e) {
-                System.err.println("Error retrying notification: " + e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * Clean up old email notifications
+     * Clean up old email notifications.
+     * Delivered rows already expire through the TTL index on notificationSentAt. This catches the rest,
+     * rows that were skipped or gave up, once their contest is 30 days past.
      */
+    @Scheduled(fixedRateString = "${notifications.retention.cleanup-interval-ms:86400000}",
+            initialDelayString = "${notifications.retention.cleanup-interval-ms:86400000}")
     public void cleanupOldNotifications() {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-        emailNotificationRepository.deleteOldNotifications(cutoffDate);
-        System.out.println("Cleaned up email notifications older than 30 days");
+        emailNotificationRepository.deleteUndeliveredForContestsBefore(cutoffDate);
+        System.out.println("Cleaned up undelivered email notifications for contests older than 30 days");
     }
 
     /**
@@ -282,7 +217,7 @@ public class EmailService {
             helper.setSubject("Your OTP Code for " + appName);
             helper.setText(generateOtpEmailContent(otp), true);
 
-            mailSender.send(message);
+            smtpTransportPool.send(message);
             System.out.println("OTP email sent successfully to " + toEmail);
             return true;
         } catch (Exception e) {
@@ -0,0 +1,311 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.enums.EmailNotificationStatus;
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.model.EmailNotification;
+import com.AlgoAlert.CodeRadar.model.User;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Mongo-backed outbox for contest notification emails.
+ * Every recipient is enqueued up front, and the unique (userId, contestId, leadMinutes) index makes
+ * enqueueing idempotent. Workers claim rows in batches under a lease, then ack them as sent or fail them with
+ * exponential backoff. A worker that dies mid-send leaves its lease to expire, and the row is
+ * claimed again.
+ */
+@Service
+public class NotificationOutbox {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${notifications.email.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${notifications.email.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notifications.email.retry-base-seconds:60}")
+    private long retryBaseSeconds;
+
+    @Value("${notifications.email.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    // Digest mode holds rows until the end of the current window, then sends each user one email
+    @Value("${notifications.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("${notifications.digest.window-minutes:30}")
+    private long digestWindowMinutes;
+
+    // Shorter reminders are time-critical and always go out on their own
+    @Value("${notifications.digest.min-lead-minutes:360}")
+    private int digestMinLeadMinutes;
+
+    /**
+     * Insert a PENDING row per user; users already queued for this reminder are skipped by the unique index
+     */
+    public int enqueue(List<User> users, Contest contest, int leadMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime sendAt = now;
+        String digestWindow = null;
+        if (digestEnabled && digestWindowMinutes > 0 && leadMinutes >= digestMinLeadMinutes) {
+            LocalDateTime windowEnd = digestWindowEnd(now);
+            // Too close to the start to wait for the window: send on its own right away
+            if (contest.getStartTime().isAfter(windowEnd.plusMinutes(digestWindowMinutes))) {
+                sendAt = windowEnd;
+                digestWindow = windowEnd.toString();
+            }
+        }
+
+        List<EmailNotification> rows = new ArrayList<>(users.size());
+        for (User user : users) {
+            rows.add(EmailNotification.builder()
+                    .userId(user.getId())
+                    .contestId(contest.getId())
+                    .contestName(contest.getName())
+                    .platform(contest.getPlatform())
+                    .contestStartTime(contest.getStartTime())
+                    .leadMinutes(leadMinutes)
+                    .emailAddress(user.getEmail())
+                    .userName(user.getFullName() != null ? user.getFullName() : user.getUsername())
+                    .delivered(false)
+                    .status(EmailNotificationStatus.PENDING)
+                    .attempts(0)
+                    .enqueuedAt(now)
+                    .nextAttemptAt(sendAt)
+                    .digestKey(digestWindow != null ? user.getId() + "@" + digestWindow : null)
+                    .build());
+        }
+
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            inserted += insertBatch(rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())));
+        }
+        return inserted;
+    }
+
+    // Windows are aligned to multiples of the window length, so every row enqueued in one shares an end
+    private LocalDateTime digestWindowEnd(LocalDateTime now) {
+        long minutes = now.toEpochSecond(ZoneOffset.UTC) / 60;
+        long windowEnd = (minutes / digestWindowMinutes + 1) * digestWindowMinutes;
+        return LocalDateTime.ofEpochSecond(windowEnd * 60, 0, ZoneOffset.UTC);
+    }
+
+    private int insertBatch(List<EmailNotification> batch) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EmailNotification.class);
+        bulkOps.insert(batch);
+        try {
+            return bulkOps.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                    throw e;
+                }
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    /**
+     * Lease up to limit due rows: new, failed and due for retry, or abandoned by an expired lease
+     */
+    public List<EmailNotification> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = new Query(claimable(now)).with(Sort.by("nextAttemptAt")).limit(limit);
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, EmailNotification.class).stream()
+                .map(EmailNotification::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Re-check claimability in the update so a row another instance claimed in between is left alone
+        String owner = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(Criteria.where("_id").in(ids), claimable(now))),
+                new Update()
+                        .set("status", EmailNotificationStatus.SENDING)
+                        .set("leaseOwner", owner)
+                        .set("leaseUntil", now.plusSeconds(leaseSeconds))
+                        .inc("attempts", 1),
+                EmailNotification.class);
+
+        return mongoTemplate.find(new Query(Criteria.where("leaseOwner").is(owner)), EmailNotification.class);
+    }
+
+    /**
+     * Lease the rest of a digest under the same owner, for rows the batch limit left behind
+     */
+    public List<EmailNotification> claimDigest(String digestKey, String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(Criteria.where("digestKey").is(digestKey), claimable(now))),
+                new Update()
+                        .set("status", EmailNotificationStatus.SENDING)
+                        .set("leaseOwner", owner)
+                        .set("leaseUntil", now.plusSeconds(leaseSeconds))
+                        .inc("attempts", 1),
+                EmailNotification.class);
+
+        return mongoTemplate.find(new Query(Criteria.where("digestKey").is(digestKey).and("leaseOwner").is(owner)),
+                EmailNotification.class);
+    }
+
+    // delivered:false matches the partial claim index's filter, so the planner can use it
+    private Criteria claimable(LocalDateTime now) {
+        return Criteria.where("delivered").is(false).orOperator(
+                Criteria.where("status").in(EmailNotificationStatus.PENDING, EmailNotificationStatus.FAILED)
+                        .and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(EmailNotificationStatus.SENDING).and("leaseUntil").lt(now));
+    }
+
+    /**
+     * Extend the lease on rows this worker still holds, right before sending them.
+     * A row that waited past its lease in the queue or the rate limiters may already have been
+     * claimed by another worker; it is left out of the result and must not be sent.
+     */
+    public List<EmailNotification> renewLease(List<EmailNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        String owner = notifications.get(0).getLeaseOwner();
+        List<String> ids = notifications.stream().map(EmailNotification::getId).toList();
+        long renewed = mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids)
+                        .and("status").is(EmailNotificationStatus.SENDING)
+                        .and("leaseOwner").is(owner)
+                        .and("leaseUntil").gt(now)),
+                new Update().set("leaseUntil", leaseUntil),
+                EmailNotification.class).getModifiedCount();
+        if (renewed == ids.size()) {
+            return notifications;
+        }
+
+        // Some rows were lost: keep only the ones carrying the lease just written
+        List<String> stillLeased = mongoTemplate.find(new Query(Criteria.where("_id").in(ids)
+                        .and("leaseOwner").is(owner)
+                        .and("leaseUntil").is(leaseUntil)), EmailNotification.class).stream()
+                .map(EmailNotification::getId)
+                .toList();
+        return notifications.stream().filter(notification -> stillLeased.contains(notification.getId())).toList();
+    }
+
+    /**
+     * Mark a leased row as delivered
+     */
+    public void ack(EmailNotification notification) {
+        ackAll(List.of(notification));
+    }
+
+    /**
+     * Mark leased rows as delivered in one write, e.g. every contest in a digest
+     */
+    public void ackAll(List<EmailNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<String> ids = notifications.stream().map(EmailNotification::getId).toList();
+        Query leasedRows = new Query(Criteria.where("_id").in(ids).and("leaseOwner").is(notifications.get(0).getLeaseOwner()));
+        mongoTemplate.updateMulti(leasedRows, new Update()
+                .set("status", EmailNotificationStatus.SENT)
+                .set("delivered", true)
+                .set("notificationSentAt", LocalDateTime.now())
+                .unset("failureReason")
+                .unset("nextAttemptAt")
+                .unset("leaseOwner")
+                .unset("leaseUntil"), EmailNotification.class);
+    }
+
+    /**
+     * Record a failed attempt and schedule the next one, or give up after max attempts
+     */
+    public void fail(EmailNotification notification, String reason) {
+        Update update = new Update()
+                .set("status", EmailNotificationStatus.FAILED)
+                .set("failureReason", reason)
+                .unset("leaseOwner")
+                .unset("leaseUntil");
+        if (canRetryAfter(notification.getAttempts())) {
+            update.set("nextAttemptAt", LocalDateTime.now().plus(backoff(notification.getAttempts())));
+        } else {
+            update.unset("nextAttemptAt");
+        }
+        mongoTemplate.updateFirst(leased(notification), update, EmailNotification.class);
+    }
+
+    /**
+     * Close a leased row without sending, e.g. because the contest is gone or has started
+     */
+    public void skip(EmailNotification notification, String reason) {
+        mongoTemplate.updateFirst(leased(notification), new Update()
+                .set("status", EmailNotificationStatus.SKIPPED)
+                .set("failureReason", reason)
+                .unset("nextAttemptAt")
+                .unset("leaseOwner")
+                .unset("leaseUntil"), EmailNotification.class);
+    }
+
+    /**
+     * Whether the attempt this row was just claimed for is within the budget.
+     * Claiming already counted it, so this holds exactly when the previous attempt was allowed a retry.
+     */
+    public boolean hasAttemptsLeft(EmailNotification notification) {
+        return canRetryAfter(notification.getAttempts() - 1);
+    }
+
+    // Attempts are counted at claim time; after the given number of attempts, may another one be made
+    private boolean canRetryAfter(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    // 1x, 2x, 4x ... the base delay, capped
+    private Duration backoff(int attempts) {
+        long seconds = retryBaseSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Duration.ofSeconds(Math.min(seconds, retryMaxSeconds));
+    }
+
+    private static Query leased(EmailNotification notification) {
+        return new Query(Criteria.where("_id").is(notification.getId()).and("leaseOwner").is(notification.getLeaseOwner()));
+    }
+
+    /**
+     * Row count per status
+     */
+    public Map<String, Long> countByStatus() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("status").count().as("count"));
+        Map<String, Long> counts = new TreeMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, EmailNotification.class, Document.class)) {
+            Object status = row.get("_id");
+            counts.put(status != null ? status.toString() : "LEGACY", ((Number) row.get("count")).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,356 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.enums.NotificationTriggerStatus;
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.model.NotificationTrigger;
+import com.AlgoAlert.CodeRadar.repo.NotificationTriggerRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules contest reminders at exact fire times instead of polling a time window.
+ * A trigger per (contest, lead time) is persisted in Mongo when a contest index snapshot is published,
+ * and is then registered on a delay queue. The lead times are those any subscriber has chosen, so a new
+ * lead time gets triggers as soon as the first user picks it and loses them when the last one drops it.
+ * A start-time change moves the trigger. Pending triggers are reloaded on startup; any that came due
+ * while the application was down fire straight away.
+ */
+@Service
+public class NotificationScheduler {
+
+    @Autowired
+    private NotificationTriggerRepository triggerRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ContestIndexService contestIndexService;
+
+    @Autowired
+    private ContestNotificationService contestNotificationService;
+
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+
+    // Delay queue holding the exact fire times; firing is handed off so a slow send never delays the next trigger
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("notification-timer").daemon().factory());
+    private final ExecutorService dispatchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Triggers for contests that have not started yet, keyed by contestId:leadMinutes
+    private final Map<String, ScheduledTrigger> triggers = new ConcurrentHashMap<>();
+
+    private boolean loaded;
+
+    // Delay before re-trying a trigger whose contest was missing from the snapshot or whose enqueue failed
+    @Value("${notifications.trigger.retry-seconds:60}")
+    private long fireRetrySeconds;
+
+    private record ScheduledTrigger(NotificationTrigger trigger, ScheduledFuture<?> future) {
+
+        private void cancel() {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    // Reload triggers persisted before the last shutdown
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureLoaded();
+        } catch (Exception e) {
+            System.err.println("Error loading notification triggers: " + e.getMessage());
+        }
+    }
+
+    // Create, move or cancel triggers so they match the new contest snapshot
+    @EventListener
+    public void onContestIndexRebuilt(ContestIndexRebuiltEvent event) {
+        try {
+            reconcile(event.current());
+        } catch (Exception e) {
+            System.err.println("Error reconciling notification triggers: " + e.getMessage());
+        }
+    }
+
+    // A user picked a lead time nobody had, or dropped the last use of one
+    @EventListener
+    public void onReminderLeadTimesChanged(ReminderLeadTimesChangedEvent event) {
+        try {
+            reconcile(contestIndexService.current());
+        } catch (Exception e) {
+            System.err.println("Error reconciling notification triggers: " + e.getMessage());
+        }
+    }
+
+    private synchronized void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int pending = 0;
+        for (NotificationTrigger trigger : triggerRepository.findForContestsStartingAfter(now)) {
+            track(trigger, now);
+            if (trigger.getStatus() == NotificationTriggerStatus.PENDING) {
+                pending++;
+            }
+        }
+        loaded = true;
+        System.out.println("Loaded " + pending + " pending notification triggers");
+    }
+
+    private synchronized void reconcile(ContestIndex index) {
+        ensureLoaded();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Integer> leadMinutes = subscriberIndex.leadTimes();
+        Set<String> liveKeys = new HashSet<>();
+        int created = 0;
+        int moved = 0;
+
+        for (Contest contest : index.upcoming(now)) {
+            if (contest.getId() == null) {
+                continue;
+            }
+            for (int lead : leadMinutes) {
+                String key = key(contest.getId(), lead);
+                liveKeys.add(key);
+                LocalDateTime fireAt = contest.getStartTime().minusMinutes(lead);
+                ScheduledTrigger existing = triggers.get(key);
+
+                if (existing == null) {
+                    // Discovered too late for this lead time; a late "12 hours to go" would be wrong
+                    if (fireAt.isBefore(now)) {
+                        continue;
+                    }
+                    NotificationTrigger trigger = createTrigger(contest, lead, fireAt, now);
+                    // Cancelled when its lead time fell out of use; re-arm it now that someone wants it again
+                    if (trigger != null && trigger.getStatus() == NotificationTriggerStatus.CANCELLED) {
+                        trigger = moveTrigger(trigger, contest, fireAt, now);
+                    }
+                    track(trigger, now);
+                    created++;
+                } else if (!existing.trigger().getContestStartTime().equals(contest.getStartTime())) {
+                    existing.cancel();
+                    track(moveTrigger(existing.trigger(), contest, fireAt, now), now);
+                    moved++;
+                }
+            }
+        }
+
+        int cancelled = 0;
+        for (String key : new ArrayList<>(triggers.keySet())) {
+            if (liveKeys.contains(key)) {
+                continue;
+            }
+            ScheduledTrigger stale = triggers.remove(key);
+            if (stale == null) {
+                continue;
+            }
+            stale.cancel();
+            // Still in the future but no longer in the index: the contest was deleted
+            NotificationTrigger trigger = stale.trigger();
+            if (trigger.getStatus() == NotificationTriggerStatus.PENDING && trigger.getContestStartTime().isAfter(now)) {
+                mongoTemplate.updateFirst(pendingTrigger(trigger.getId()),
+                        new Update().set("status", NotificationTriggerStatus.CANCELLED), NotificationTrigger.class);
+                cancelled++;
+            }
+        }
+
+        if (created > 0 || moved > 0 || cancelled > 0) {
+            System.out.println("Notification triggers reconciled - created: " + created
+                    + ", rescheduled: " + moved + ", cancelled: " + cancelled);
+        }
+    }
+
+    // Insert the trigger, or return the stored one if it already exists (e.g. already fired)
+    private NotificationTrigger createTrigger(Contest contest, int lead, LocalDateTime fireAt, LocalDateTime now) {
+        Query query = new Query(Criteria.where("contestId").is(contest.getId()).and("leadMinutes").is(lead));
+        Update update = new Update()
+                .setOnInsert("contestName", contest.getName())
+                .setOnInsert("platform", contest.getPlatform())
+                .setOnInsert("contestStartTime", contest.getStartTime())
+                .setOnInsert("fireAt", fireAt)
+                .setOnInsert("status", NotificationTriggerStatus.PENDING)
+                .setOnInsert("createdAt", now);
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), NotificationTrigger.class);
+    }
+
+    // Move a trigger to the contest's new start time; a fired reminder is re-armed if its new time is still ahead
+    private NotificationTrigger moveTrigger(NotificationTrigger trigger, Contest contest, LocalDateTime fireAt,
+                                            LocalDateTime now) {
+        NotificationTriggerStatus status = trigger.getStatus() == NotificationTriggerStatus.PENDING || fireAt.isAfter(now)
+                ? NotificationTriggerStatus.PENDING
+                : trigger.getStatus();
+        Update update = new Update()
+                .set("contestName", contest.getName())
+                .set("contestStartTime", contest.getStartTime())
+                .set("fireAt", fireAt)
+                .set("status", status);
+        return mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(trigger.getId())), update,
+                FindAndModifyOptions.options().returnNew(true), NotificationTrigger.class);
+    }
+
+    private void track(NotificationTrigger trigger, LocalDateTime now) {
+        if (trigger == null) {
+            return;
+        }
+        String key = key(trigger.getContestId(), trigger.getLeadMinutes());
+        ScheduledFuture<?> future = null;
+        if (trigger.getStatus() == NotificationTriggerStatus.PENDING) {
+            long delayMillis = Math.max(0, Duration.between(now, trigger.getFireAt()).toMillis());
+            future = timer.schedule(() -> dispatchExecutor.execute(() -> fire(key)), delayMillis, TimeUnit.MILLISECONDS);
+        }
+        triggers.put(key, new ScheduledTrigger(trigger, future));
+    }
+
+    /**
+     * Claim a pending trigger and send its reminders.
+     * The claim is a conditional update in Mongo, so a trigger fires at most once even if it is
+     * also picked up by a manual check. The contest is looked up before claiming, and a claim whose
+     * reminders could not be queued is put back to PENDING, so neither a stale snapshot nor an outbox
+     * error loses the reminder; both are retried shortly while the contest has not started.
+     */
+    private boolean fire(String key) {
+        ScheduledTrigger scheduled = triggers.get(key);
+        if (scheduled == null || scheduled.trigger().getStatus() != NotificationTriggerStatus.PENDING) {
+            return false;
+        }
+
+        // Missing from the snapshot may just mean it is stale; a contest that is really gone gets its trigger
+        // cancelled by the next reconcile
+        Contest contest = contestIndexService.current().byId(scheduled.trigger().getContestId());
+        if (contest == null) {
+            System.err.println("Contest " + scheduled.trigger().getContestId()
+                    + " for notification trigger is not in the contest index yet; retrying");
+            retryLater(key, scheduled.trigger());
+            return false;
+        }
+
+        NotificationTrigger claimed = mongoTemplate.findAndModify(pendingTrigger(scheduled.trigger().getId()),
+                new Update().set("status", NotificationTriggerStatus.FIRED).set("firedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), NotificationTrigger.class);
+        if (claimed == null) {
+            return false;
+        }
+        triggers.computeIfPresent(key, (k, current) -> current.trigger().getId().equals(claimed.getId())
+                ? new ScheduledTrigger(claimed, null)
+                : current);
+
+        System.out.println("Firing " + claimed.getLeadMinutes() + "-minute reminder for contest: " + contest.getName());
+        if (contestNotificationService.sendNotificationsForContest(contest, claimed.getLeadMinutes())) {
+            return true;
+        }
+
+        // Nothing was queued: release the claim. A partial enqueue is safe to repeat, the outbox's unique
+        // (user, contest, lead) index skips users already queued
+        NotificationTrigger released = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(claimed.getId()).and("status").is(NotificationTriggerStatus.FIRED)),
+                new Update().set("status", NotificationTriggerStatus.PENDING).unset("firedAt"),
+                FindAndModifyOptions.options().returnNew(true), NotificationTrigger.class);
+        if (released != null) {
+            retryLater(key, released);
+        }
+        return false;
+    }
+
+    // Fire the trigger again after the retry delay, unless the contest starts before then
+    private void retryLater(String key, NotificationTrigger trigger) {
+        LocalDateTime retryAt = LocalDateTime.now().plusSeconds(fireRetrySeconds);
+        if (!trigger.getContestStartTime().isAfter(retryAt)) {
+            System.err.println("Giving up on " + trigger.getLeadMinutes() + "-minute reminder for contest "
+                    + trigger.getContestId() + ": it starts before the next retry");
+            return;
+        }
+        ScheduledFuture<?> future = timer.schedule(() -> dispatchExecutor.execute(() -> fire(key)),
+                fireRetrySeconds, TimeUnit.SECONDS);
+        triggers.compute(key, (k, current) -> {
+            if (current != null && !current.trigger().getId().equals(trigger.getId())) {
+                // Replaced by a reconcile meanwhile; that trigger has its own schedule
+                future.cancel(false);
+                return current;
+            }
+            return new ScheduledTrigger(trigger, future);
+        });
+    }
+
+    /**
+     * Fire every pending trigger that is already due, on the caller's thread.
+     */
+    public int fireDueTriggers() {
+        ensureLoaded();
+        LocalDateTime now = LocalDateTime.now();
+        int fired = 0;
+        for (Map.Entry<String, ScheduledTrigger> entry : triggers.entrySet()) {
+            NotificationTrigger trigger = entry.getValue().trigger();
+            if (trigger.getStatus() == NotificationTriggerStatus.PENDING && !trigger.getFireAt().isAfter(now)
+                    && fire(entry.getKey())) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Pending trigger count and the next fire time, for the notification stats endpoint.
+     */
+    public Map<String, Object> getSchedulerStats() {
+        LocalDateTime nextFireAt = null;
+        int pending = 0;
+        for (ScheduledTrigger scheduled : triggers.values()) {
+            NotificationTrigger trigger = scheduled.trigger();
+            if (trigger.getStatus() == NotificationTriggerStatus.PENDING) {
+                pending++;
+                if (nextFireAt == null || trigger.getFireAt().isBefore(nextFireAt)) {
+                    nextFireAt = trigger.getFireAt();
+                }
+            }
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pendingTriggers", pending);
+        stats.put("nextTriggerAt", nextFireAt);
+        stats.put("leadMinutes", subscriberIndex.leadTimes());
+        return stats;
+    }
+
+    private static Query pendingTrigger(String id) {
+        return new Query(Criteria.where("_id").is(id).and("status").is(NotificationTriggerStatus.PENDING));
+    }
+
+    private static String key(String contestId, int leadMinutes) {
+        return contestId + ":" + leadMinutes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        dispatchExecutor.shutdown();
+    }
+}
@@ -1,6 +1,12 @@
 package com.AlgoAlert.CodeRadar.services;
 
+import com.AlgoAlert.CodeRadar.enums.HandleVerificationStatus;
 import com.AlgoAlert.CodeRadar.model.User;
+import com.AlgoAlert.CodeRadar.util.Bulkhead;
+import com.AlgoAlert.CodeRadar.util.CircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -9,107 +15,279 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Checks whether users' handles exist on the contest platforms.
+ * Checks run on the shared virtual-thread executor. Each platform has its own bulkhead, capping
+ * concurrent calls to it, and its own circuit breaker, which stops calling it after repeated
+ * failures. An outage at one site therefore neither ties up nor slows down checks against the others.
+ * Codeforces and LeetCode can look up many handles in one request, so their checks are batched.
+ */
 @Service
 public class PlatformVerificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(PlatformVerificationService.class);
 
+    public static final List<String> PLATFORMS = List.of("codeforces", "leetcode", "codechef", "atcoder",
+            "hackerrank", "hackerearth", "geeksforgeeks", "csacademy", "topcoder");
+
+    // Platforms whose checks are coalesced into bulk requests by the VerificationBatcher
+    private static final Set<String> BATCHED_PLATFORMS = Set.of("codeforces", "leetcode");
+
+    // Characters Codeforces allows in a handle; anything else cannot exist and would break the ';'-separated list
+    private static final Pattern CODEFORCES_HANDLE = Pattern.compile("[A-Za-z0-9_.-]{1,24}");
+    private static final Pattern CODEFORCES_MISSING_HANDLE = Pattern.compile("User with handle (\\S+) not found");
+
     private final RestTemplate restTemplate;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private final Executor executorService;
+
+    // Concurrent calls allowed per platform, and how long a check waits for a free slot
+    @Value("${verification.bulkhead.max-concurrent:4}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${verification.bulkhead.max-wait-ms:500}")
+    private long bulkheadMaxWaitMillis;
+
+    // Failed checks in a row that open a platform's circuit, and how long it stays open
+    @Value("${verification.circuit.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${verification.circuit.open-ms:60000}")
+    private long circuitOpenMillis;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Value("${verification.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    // Handles rarely disappear, so found results are kept long
+    @Value("${verification.cache.found-ttl:24h}")
+    private Duration foundTtl;
+
+    // Short, so a handle registered right after a failed check is picked up soon
+    @Value("${verification.cache.not-found-ttl:15m}")
+    private Duration notFoundTtl;
+
+    // Entries older than this are re-checked in the background on the next read
+    @Value("${verification.cache.refresh-after:6h}")
+    private Duration refreshAfter;
+
+    private VerificationCache verificationCache;
+
+    // Checks for the same platform arriving within the window share one bulk request
+    @Value("${verification.batch.enabled:true}")
+    private boolean batchingEnabled;
+
+    @Value("${verification.batch.window-ms:50}")
+    private long batchWindowMillis;
+
+    @Value("${verification.batch.max-size:50}")
+    private int batchMaxSize;
+
+    // A batched check still waiting after this long is answered UNKNOWN instead of holding its caller
+    @Value("${verification.batch.timeout-ms:10000}")
+    private long batchTimeoutMillis;
+
+    private VerificationBatcher verificationBatcher;
 
     @Autowired
-    public PlatformVerificationService(RestTemplate restTemplate) {
+    public PlatformVerificationService(RestTemplate restTemplate,
+                                       @Qualifier("applicationTaskExecutor") Executor executorService) {
         this.restTemplate = restTemplate;
+        this.executorService = executorService;
+    }
+
+    @PostConstruct
+    public void init() {
+        verificationCache = new VerificationCache(this::verifyHandleGuarded, cacheMaximumSize,
+                foundTtl, notFoundTtl, refreshAfter, executorService);
+        verificationBatcher = new VerificationBatcher(this::verifyHandlesGuarded, batchWindowMillis, batchMaxSize,
+                executorService);
     }
 
     /**
      * Verify if a user is registered on a specific platform
      */
     public CompletableFuture<Boolean> verifyPlatformRegistration(User user, String platform) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String handle = getUserHandleForPlatform(user, platform);
-                if (handle == null || handle.trim().isEmpty()) {
-                    logger.info("No handle for platform {} for user {}", platform, user.getUsername());
-                    return false;
-                }
-                switch (platform.toLowerCase()) {
-                    case "codeforces":
-                        return verifyCodeforcesHandle(handle);
-                    case "leetcode":
-                        return verifyLeetCodeHandle(handle);
-                    case "codechef":
-                        return verifyCodeChefHandle(handle);
-                    case "atcoder":
-                        return verifyAtCoderHandle(handle);
-                    case "hackerrank":
-                        return verifyHackerRankHandle(handle);
-                    case "hackerearth":
-                        return verifyHackerEarthHandle(handle);
-                    case "geeksforgeeks":
-                        return verifyGeeksforGeeksHandle(handle);
-                    case "csacademy":
-                        return verifyCSAcademyHandle(handle);
-                    case "topcoder":
-                        return verifyTopCoderHandle(handle);
-                    default:
-                        logger.warn("Unknown platform: {}", platform);
-                        return false;
-                }
-            } catch (Exception e) {
-                logger.error("Error verifying {} registration for user {}: {}", platform, user.getUsername(), e.getMessage());
-                return false;
-            }
-        }, executorService);
+        return checkPlatformRegistration(user, platform).thenApply(status -> status == HandleVerificationStatus.FOUND);
+    }
+
+    /**
+     * Like verifyPlatformRegistration, but keeps UNKNOWN apart from NOT_FOUND: the platform could not be
+     * asked (down, circuit open, bulkhead full), which says nothing about whether the user is registered
+     */
+    public CompletableFuture<HandleVerificationStatus> checkPlatformRegistration(User user, String platform) {
+        String handle = getUserHandleForPlatform(user, platform);
+        if (handle == null || handle.trim().isEmpty()) {
+            logger.info("No handle for platform {} for user {}", platform, user.getUsername());
+            return CompletableFuture.completedFuture(HandleVerificationStatus.NOT_FOUND);
+        }
+        return verificationCache.get(handle, platform)
+                .exceptionally(e -> {
+                    logger.error("Error verifying {} registration for user {}: {}", platform, user.getUsername(), e.getMessage());
+                    return HandleVerificationStatus.UNKNOWN;
+                });
     }
 
     public CompletableFuture<Boolean> verifyPlatformHandle(String handle, String platform) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (handle == null || handle.trim().isEmpty()) {
-                    logger.info("No handle for platform {}", platform);
+        if (handle == null || handle.trim().isEmpty()) {
+            logger.info("No handle for platform {}", platform);
+            return CompletableFuture.completedFuture(false);
+        }
+        return verifyHandleCached(handle, platform)
+                .exceptionally(e -> {
+                    logger.error("Error verifying {} registration for user {}: {}", platform, handle, e.getMessage());
                     return false;
-                }
-                switch (platform.toLowerCase()) {
-                    case "codeforces":
-                        return verifyCodeforcesHandle(handle);
-                    case "leetcode":
-                        return verifyLeetCodeHandle(handle);
-                    case "codechef":
-                        return verifyCodeChefHandle(handle);
-                    case "atcoder":
-                        return verifyAtCoderHandle(handle);
-                    case "hackerrank":
-                        return verifyHackerRankHandle(handle);
-                    case "hackerearth":
-                        return verifyHackerEarthHandle(handle);
-                    case "geeksforgeeks":
-                        return verifyGeeksforGeeksHandle(handle);
-                    case "csacademy":
-                        return verifyCSAcademyHandle(handle);
-                    case "topcoder":
-                        return verifyTopCoderHandle(handle);
-                    default:
-                        logger.warn("Unknown platform: {}", platform);
-                        return false;
-                }
-            } catch (Exception e) {
-                logger.error("Error verifying {} registration for user {}: {}", platform, handle, e.getMessage());
-                return false;
+                });
+    }
+
+    /**
+     * Verify many handles on one platform; checks for batched platforms are sent as bulk requests
+     */
+    public CompletableFuture<Map<String, Boolean>> verifyPlatformHandles(Collection<String> handles, String platform) {
+        Map<String, CompletableFuture<Boolean>> checks = new LinkedHashMap<>();
+        for (String handle : handles) {
+            checks.computeIfAbsent(handle, h -> verifyPlatformHandle(h, platform));
+        }
+        return CompletableFuture.allOf(checks.values().toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    Map<String, Boolean> results = new LinkedHashMap<>();
+                    checks.forEach((handle, check) -> results.put(handle, check.join()));
+                    return results;
+                });
+    }
+
+    /**
+     * Look up a handle in the verification cache before calling the platform.
+     * A check that could not reach the platform counts as not verified but is not cached.
+     */
+    private CompletableFuture<Boolean> verifyHandleCached(String handle, String platform) {
+        return verificationCache.get(handle, platform).thenApply(status -> status == HandleVerificationStatus.FOUND);
+    }
+
+    /**
+     * Per-platform hit/miss and outcome counters for the verification cache, plus bulkhead, circuit and batching state
+     */
+    public Map<String, Object> getVerificationCacheStats() {
+        Map<String, Object> guards = new TreeMap<>();
+        circuitBreakers.forEach((platform, circuitBreaker) -> {
+            Bulkhead bulkhead = bulkheads.get(platform);
+            Map<String, Object> guard = new HashMap<>();
+            guard.put("circuit", circuitBreaker.state());
+            guard.put("rejectedByCircuit", circuitBreaker.rejectedCount());
+            guard.put("inFlight", bulkhead != null ? bulkhead.inUse() : 0);
+            guard.put("rejectedByBulkhead", bulkhead != null ? bulkhead.rejectedCount() : 0);
+            guards.put(platform, guard);
+        });
+
+        Map<String, Object> stats = new HashMap<>(verificationCache.getStats());
+        stats.put("guards", guards);
+        stats.put("batching", verificationBatcher.getStats());
+        return stats;
+    }
+
+    // Check one handle, through the batcher for platforms with a bulk API; a refused check is UNKNOWN.
+    // Returns a pending future and never blocks, since the cache calls this while holding its map lock.
+    private CompletableFuture<HandleVerificationStatus> verifyHandleGuarded(String handle, String platform) {
+        String key = platform.toLowerCase();
+        if (batchingEnabled && BATCHED_PLATFORMS.contains(key)) {
+            // The guards apply to the bulk request, not to each caller waiting on it
+            return verificationBatcher.submit(handle, key)
+                    .completeOnTimeout(HandleVerificationStatus.UNKNOWN, batchTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return CompletableFuture.supplyAsync(() -> guarded(key, () -> verifyHandleOnPlatform(handle, platform),
+                status -> status == HandleVerificationStatus.UNKNOWN, HandleVerificationStatus.UNKNOWN), executorService);
+    }
+
+    // One bulk request for a batch; it counts as failed only if no handle could be resolved
+    private Map<String, HandleVerificationStatus> verifyHandlesGuarded(String platform, List<String> handles) {
+        return guarded(platform, () -> verifyHandlesOnPlatform(handles, platform),
+                results -> results.values().stream().allMatch(status -> status == HandleVerificationStatus.UNKNOWN),
+                Map.of());
+    }
+
+    // Run a platform call inside that platform's bulkhead and circuit breaker, returning refused when either says no
+    private <T> T guarded(String platform, Supplier<T> call, Predicate<T> failed, T refused) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(platform,
+                k -> new Bulkhead(bulkheadMaxConcurrent, bulkheadMaxWaitMillis));
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(platform,
+                k -> new CircuitBreaker(circuitFailureThreshold, circuitOpenMillis));
+
+        try {
+            if (!bulkhead.tryAcquire()) {
+                logger.warn("Verification bulkhead full for {}", platform);
+                return refused;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return refused;
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return refused;
+            }
+            T result = call.get();
+            if (failed.test(result)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
             }
-        }, executorService);
+            return result;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Map<String, HandleVerificationStatus> verifyHandlesOnPlatform(List<String> handles, String platform) {
+        switch (platform) {
+            case "codeforces":
+                return verifyCodeforcesHandles(handles);
+            case "leetcode":
+                return verifyLeetCodeHandles(handles);
+            default:
+                Map<String, HandleVerificationStatus> results = new HashMap<>();
+                handles.forEach(handle -> results.put(handle, verifyHandleOnPlatform(handle, platform)));
+                return results;
+        }
     }
 
+    private HandleVerificationStatus verifyHandleOnPlatform(String handle, String platform) {
+        switch (platform.toLowerCase()) {
+            case "codeforces":
+                return verifyCodeforcesHandle(handle);
+            case "leetcode":
+                return verifyLeetCodeHandle(handle);
+            case "codechef":
+                return verifyCodeChefHandle(handle);
+            case "atcoder":
+                return verifyAtCoderHandle(handle);
+            case "hackerrank":
+                return verifyHackerRankHandle(handle);
+            case "hackerearth":
+                return verifyHackerEarthHandle(handle);
+            case "geeksforgeeks":
+                return verifyGeeksforGeeksHandle(handle);
+            case "csacademy":
+                return verifyCSAcademyHandle(handle);
+            case "topcoder":
+                return verifyTopCoderHandle(handle);
+            default:
+                logger.warn("Unknown platform: {}", platform);
+                return HandleVerificationStatus.NOT_FOUND;
+        }
+    }
 
     /**
      * Get user's handle for a specific platform
@@ -138,30 +316,122 @@ public class PlatformVerificationService {
     /**
      * Verify Codeforces handle by checking user profile
      */
-    private boolean verifyCodeforcesHandle(String handle) {
+    private HandleVerificationStatus verifyCodeforcesHandle(String handle) {
         try {
             String url = "https://codeforces.com/api/user.info?handles=" + handle;
-            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(3000);
-            connection.setReadTimeout(3000);
-            int responseCode = connection.getResponseCode();
-            if (responseCode == 200) {
-                // Parse response to check if user exists
-                String response = new BufferedReader(new InputStreamReader(connection.getInputStream()))
-                    .lines().collect(Collectors.joining("\n"));
-                return response.contains("\"status\":\"OK\"");
+            String response = restTemplate.getForObject(url, String.class);
+            // Parse response to check if user exists
+            return response != null && response.contains("\"status\":\"OK\"")
+                    ? HandleVerificationStatus.FOUND
+                    : HandleVerificationStatus.NOT_FOUND;
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            // The API answers 400 for a handle that does not exist
+            return HandleVerificationStatus.NOT_FOUND;
+        } catch (Exception e) {
+            return HandleVerificationStatus.UNKNOWN;
+        }
+    }
+
+    /**
+     * Verify many Codeforces handles with one user.info call.
+     * The API fails the whole request on the first unknown handle and names it in the comment,
+     * so that handle is marked not found and the rest are asked for again.
+     */
+    private Map<String, HandleVerificationStatus> verifyCodeforcesHandles(List<String> handles) {
+        Map<String, HandleVerificationStatus> results = new HashMap<>();
+        List<String> remaining = new ArrayList<>();
+        for (String handle : handles) {
+            if (CODEFORCES_HANDLE.matcher(handle).matches()) {
+                remaining.add(handle);
+            } else {
+                results.put(handle, HandleVerificationStatus.NOT_FOUND);
+            }
+        }
+
+        while (!remaining.isEmpty()) {
+            try {
+                String response = restTemplate.getForObject("https://codeforces.com/api/user.info?handles={handles}",
+                        String.class, String.join(";", remaining));
+                if (response != null && response.contains("\"status\":\"OK\"")) {
+                    remaining.forEach(handle -> results.put(handle, HandleVerificationStatus.FOUND));
+                }
+                break;
+            } catch (HttpClientErrorException.BadRequest e) {
+                Matcher matcher = CODEFORCES_MISSING_HANDLE.matcher(e.getResponseBodyAsString());
+                String missing = matcher.find()
+                        ? remaining.stream().filter(handle -> handle.equalsIgnoreCase(matcher.group(1))).findFirst().orElse(null)
+                        : null;
+                if (missing == null) {
+                    // Some other complaint; leave the remaining handles UNKNOWN
+                    break;
+                }
+                results.put(missing, HandleVerificationStatus.NOT_FOUND);
+                remaining.remove(missing);
+            } catch (Exception e) {
+                logger.error("Error verifying {} Codeforces handles: {}", remaining.size(), e.getMessage());
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Verify many LeetCode handles with one GraphQL query, one aliased matchedUser lookup per handle
+     */
+    private Map<String, HandleVerificationStatus> verifyLeetCodeHandles(List<String> handles) {
+        Map<String, HandleVerificationStatus> results = new HashMap<>();
+        try {
+            List<String> parameters = new ArrayList<>();
+            StringBuilder lookups = new StringBuilder();
+            Map<String, Object> variables = new HashMap<>();
+            for (int i = 0; i < handles.size(); i++) {
+                parameters.add("$u" + i + ": String!");
+                lookups.append("u").append(i).append(": matchedUser(username: $u").append(i).append(") { username } ");
+                variables.put("u" + i, handles.get(i));
+            }
+            String query = "query(" + String.join(", ", parameters) + ") { " + lookups + "}";
+
+            Map<String, Object> requestBody = new HashMap<>();
+            requestBody.put("query", query);
+            requestBody.put("variables", variables);
+
+            ResponseEntity<Map> response = restTemplate.exchange("https://leetcode.com/graphql/", HttpMethod.POST,
+                    new HttpEntity<>(requestBody, leetCodeHeaders()), Map.class);
+
+            Map<String, Object> responseBody = response.getBody();
+            Map<String, Object> data = responseBody != null ? (Map<String, Object>) responseBody.get("data") : null;
+            if (data == null) {
+                return results;
+            }
+            // A missing user comes back as a null alias alongside an error entry
+            for (int i = 0; i < handles.size(); i++) {
+                if (data.containsKey("u" + i)) {
+                    results.put(handles.get(i), data.get("u" + i) != null
+                            ? HandleVerificationStatus.FOUND
+                            : HandleVerificationStatus.NOT_FOUND);
+                }
             }
-            return false;
         } catch (Exception e) {
-            return false;
+            logger.error("Error verifying {} LeetCode handles: {}", handles.size(), e.getMessage());
         }
+        return results;
+    }
+
+    private HttpHeaders leetCodeHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
+        headers.set("Accept", "*/*");
+        headers.set("Accept-Language", "en-US,en;q=0.9");
+        headers.set("Origin", "https://leetcode.com");
+        headers.set("Referer", "https://leetcode.com/");
+        return headers;
     }
 
     /**
      * Verify LeetCode handle by checking user profile
      */
-    private boolean verifyLeetCodeHandle(String handle) {
+    private HandleVerificationStatus verifyLeetCodeHandle(String handle) {
         try {
             String url = "https://leetcode.com/graphql/";
 
@@ -177,13 +447,7 @@ public class PlatformVerificationService {
             }
             """, handle);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-            headers.set("Accept", "*/*");
-            headers.set("Accept-Language", "en-US,en;q=0.9");
-            headers.set("Origin", "https://leetcode.com");
-            headers.set("Referer", "https://leetcode.com/");
+            HttpHeaders headers = leetCodeHeaders();
 
             Map<String, String> requestBody = new HashMap<>();
             requestBody.put("query", query);
@@ -202,19 +466,22 @@ public class PlatformVerificationService {
             if (response.getStatusCode() == HttpStatus.OK) {
                 Map<String, Object> responseBody = response.getBody();
                 Map<String, Object> data = (Map<String, Object>) responseBody.get("data");
-                return data != null && data.get("matchedUser") != null;
+                if (data == null) {
+                    return HandleVerificationStatus.UNKNOWN;
+                }
+                return data.get("matchedUser") != null ? HandleVerificationStatus.FOUND : HandleVerificationStatus.NOT_FOUND;
             }
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
             logger.error("Error verifying LeetCode handle {}: {}", handle, e.getMessage());
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
     /**
      * Verify CodeChef handle
      */
-    private boolean verifyCodeChefHandle(String handle) {
+    private HandleVerificationStatus verifyCodeChefHandle(String handle) {
         try {
             // Check user profile page directly
             String url = "https://www.codechef.com/users/" + handle;
@@ -224,25 +491,25 @@ public class PlatformVerificationService {
             // Check if the response contains user profile content
             if (response != null && response.contains("class=\"user-details\"") && 
                 !response.contains("User not found") && !response.contains("404")) {
-                return true;
+                return HandleVerificationStatus.FOUND;
             }
             
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
             
         } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
         } catch (HttpClientErrorException e) {
-            // Any 4xx error means user doesn't exist
-            return false;
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
     /**
      * Verify AtCoder handle
      */
-    private boolean verifyAtCoderHandle(String handle) {
+    private HandleVerificationStatus verifyAtCoderHandle(String handle) {
         try {
             String url = "https://atcoder.jp/users/" + handle;
             
@@ -250,21 +517,22 @@ public class PlatformVerificationService {
             
             if (response != null && response.contains("class=\"username\"") && 
                 !response.contains("404") && !response.contains("User not found")) {
-                return true;
+                return HandleVerificationStatus.FOUND;
             }
             
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
             
         } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
         } catch (HttpClientErrorException e) {
-            return false;
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
-    private boolean verifyHackerRankHandle(String handle) {
+    private HandleVerificationStatus verifyHackerRankHandle(String handle) {
         try {
             String url = "https://www.hackerrank.com/profile/" + handle;
             
@@ -272,21 +540,22 @@ public class PlatformVerificationService {
             
             if (response != null && response.contains("profile-header") && 
                 !response.contains("404") && !response.contains("User not found")) {
-                return true;
+                return HandleVerificationStatus.FOUND;
             }
             
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
             
         } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
         } catch (HttpClientErrorException e) {
-            return false;
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
-    private boolean verifyHackerEarthHandle(String handle) {
+    private HandleVerificationStatus verifyHackerEarthHandle(String handle) {
         try {
             String url = "https://www.hackerearth.com/@" + handle;
             
@@ -294,43 +563,44 @@ public class PlatformVerificationService {
             
             if (response != null && response.contains("profile-header") && 
                 !response.contains("404") && !response.contains("User not found")) {
-                return true;
+                return HandleVerificationStatus.FOUND;
             }
             
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
             
         } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
         } catch (HttpClientErrorException e) {
-            return false;
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
     /**
      * Verify GeeksforGeeks handle
      */
-    private boolean verifyGeeksforGeeksHandle(String handleName) {
+    private HandleVerificationStatus verifyGeeksforGeeksHandle(String handleName) {
         try {
             String urlStr = "https://auth.geeksforgeeks.org/user/" + handleName;
-            HttpURLConnection conn = (HttpURLConnection) new URL(urlStr).openConnection();
-            conn.setRequestMethod("HEAD");
-            conn.setConnectTimeout(5000);
-            conn.setReadTimeout(5000);
-
-            int code = conn.getResponseCode();
-            return (code == 200);
+            restTemplate.headForHeaders(urlStr);
+            return HandleVerificationStatus.FOUND;
+        } catch (HttpClientErrorException.NotFound e) {
+            return HandleVerificationStatus.NOT_FOUND;
+        } catch (HttpClientErrorException e) {
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
             // Could be network issues — handle as needed
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
     /**
      * Verify CS Academy handle
      */
-    private boolean verifyCSAcademyHandle(String handle) {
+    private HandleVerificationStatus verifyCSAcademyHandle(String handle) {
         try {
             String url = "https://csacademy.com/user/" + handle;
             
@@ -338,24 +608,25 @@ public class PlatformVerificationService {
             
             if (response != null && response.contains("user-profile") && 
                 !response.contains("404") && !response.contains("User not found")) {
-                return true;
+                return HandleVerificationStatus.FOUND;
             }
             
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
             
         } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
         } catch (HttpClientErrorException e) {
-            return false;
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
 
     /**
      * Verify TopCoder handle
      */
-    private boolean verifyTopCoderHandle(String handle) {
+    private HandleVerificationStatus verifyTopCoderHandle(String handle) {
         try {
             String url = "https://www.topcoder.com/members/" + handle;
             
@@ -363,17 +634,18 @@ public class PlatformVerificationService {
             
             if (response != null && response.contains("member-profile") && 
                 !response.contains("404") && !response.contains("User not found")) {
-                return true;
+                return HandleVerificationStatus.FOUND;
             }
             
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
             
         } catch (HttpClientErrorException.NotFound e) {
-            return false;
+            return HandleVerificationStatus.NOT_FOUND;
         } catch (HttpClientErrorException e) {
-            return false;
+            // 403/429 and friends are bot blocks or rate limits, not a missing user: don't cache them
+            return HandleVerificationStatus.UNKNOWN;
         } catch (Exception e) {
-            return false;
+            return HandleVerificationStatus.UNKNOWN;
         }
     }
     
@@ -382,10 +654,8 @@ public class PlatformVerificationService {
      * Get all platforms where user is registered
      */
     public CompletableFuture<Map<String, Boolean>> verifyAllPlatforms(User user) {
-        List<String> platforms = Arrays.asList("codeforces", "leetcode", "codechef", "atcoder", "hackerrank", "hackerearth", "geeksforgeeks", "csacademy", "topcoder");
-        
         Map<String, CompletableFuture<Boolean>> futures = new HashMap<>();
-        for (String platform : platforms) {
+        for (String platform : PLATFORMS) {
             futures.put(platform, verifyPlatformRegistration(user, platform));
         }
 
@@ -4,6 +4,7 @@ import com.AlgoAlert.CodeRadar.dto.ExternalProblemDTO;
 import com.AlgoAlert.CodeRadar.enums.Platform;
 import com.AlgoAlert.CodeRadar.services.platforms.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,6 +19,8 @@ public class PotdService {
     private CodeforcesService codeforcesService;
 
 
+    // The daily problem changes once a day; failed lookups (null) are not cached
+    @Cacheable(value = "potd", key = "#platform.toUpperCase()", unless = "#result == null")
     public ExternalProblemDTO getProblemByPlatform(String platform) {
         return switch (Platform.valueOf(platform.toUpperCase())) {
             case LEETCODE -> leetCodeService.getDailyProblem();
@@ -0,0 +1,9 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import java.util.Set;
+
+/**
+ * Published by {@link SubscriberIndex} when the set of reminder lead times across all subscribers changes.
+ */
+public record ReminderLeadTimesChangedEvent(Set<Integer> leadMinutes) {
+}
@@ -17,11 +17,13 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.DayOfWeek;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class ScheduleService {
     private final ScheduleEntryRepository scheduleEntryRepository;
+    private final OkHttpClient okHttpClient;
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     @Value("${openrouter.api.key}")
@@ -31,6 +33,13 @@ public class ScheduleService {
     @Value("${openrouter.model}")
     private String openRouterModel;
 
+    // LLM completions can take minutes; the shared client's 30s call cap is meant for platform lookups
+    @Value("${openrouter.read-timeout-ms:120000}")
+    private long openRouterReadTimeoutMillis;
+
+    @Value("${openrouter.call-timeout-ms:300000}")
+    private long openRouterCallTimeoutMillis;
+
     /**
      * Extracts raw text from a PDF file using PDFBox.
      */
@@ -45,7 +54,6 @@ public class ScheduleService {
      * Calls OpenRouter API to parse the extracted text into structured schedule entries.
      */
     public String callOpenRouterAPI(String prompt) throws IOException {
-        OkHttpClient client = new OkHttpClient();
         Map<String, Object> requestBody = Map.of(
             "model", openRouterModel,
             "messages", List.of(Map.of("role", "user", "content", prompt)),
@@ -61,7 +69,12 @@ public class ScheduleService {
                 .build();
         System.out.println("Request "+ request);
 
-        try (Response response = client.newCall(request).execute()) {
+        // Derived per call: newBuilder() is cheap and keeps the shared connection pool
+        OkHttpClient openRouterClient = okHttpClient.newBuilder()
+                .readTimeout(openRouterReadTimeoutMillis, TimeUnit.MILLISECONDS)
+                .callTimeout(openRouterCallTimeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+        try (Response response = openRouterClient.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 String errorBody = response.body() != null ? response.body().string() : "No error body";
                 throw new IOException("OpenRouter API error: " + response + " - " + errorBody);
@@ -0,0 +1,212 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps authenticated SMTP connections open and reuses them across messages, so a bulk alert pays
+ * the connect, STARTTLS and AUTH handshake once per connection instead of once per recipient.
+ * At most max-connections are open to the mail host. A connection idle for longer than the health
+ * check interval is probed with NOOP before reuse. Connections idle past max-idle are closed by the
+ * eviction sweep. If pooling is disabled, or the sender is not a JavaMailSenderImpl, messages go
+ * through mailSender.send as before.
+ */
+@Service
+public class SmtpTransportPool {
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${mail.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mail.pool.max-connections:4}")
+    private int maxConnections;
+
+    // How long a borrower waits for a free connection before failing the send
+    @Value("${mail.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMillis;
+
+    // Idle connections older than this are NOOP-checked before reuse
+    @Value("${mail.pool.health-check-after-ms:30000}")
+    private long healthCheckAfterMillis;
+
+    // Idle connections older than this are closed by the eviction sweep; most servers drop them anyway
+    @Value("${mail.pool.max-idle-ms:120000}")
+    private long maxIdleMillis;
+
+    // Recycle a connection after this many messages; some relays cap messages per session
+    @Value("${mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    // Most recently returned first, so the sweep closes the stalest connections
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private Semaphore permits;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong healthCheckFailures = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong fallbackSends = new AtomicLong();
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedMillis;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+            this.lastUsedMillis = System.currentTimeMillis();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, maxConnections), true);
+    }
+
+    /**
+     * Send a message over a pooled connection. A connection that fails mid-send is closed, not reused.
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        if (!(enabled && mailSender instanceof JavaMailSenderImpl sender)) {
+            mailSender.send(message);
+            fallbackSends.incrementAndGet();
+            return;
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for an SMTP connection", e);
+        }
+
+        PooledTransport pooled = null;
+        try {
+            pooled = borrow(sender);
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+
+            pooled.messagesSent++;
+            pooled.lastUsedMillis = System.currentTimeMillis();
+            sent.incrementAndGet();
+            if (pooled.messagesSent < maxMessagesPerConnection) {
+                idle.offerFirst(pooled);
+            } else {
+                close(pooled);
+            }
+        } catch (MessagingException | RuntimeException e) {
+            failed.incrementAndGet();
+            if (pooled != null) {
+                close(pooled);
+            }
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledTransport borrow(JavaMailSenderImpl sender) throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long idleMillis = System.currentTimeMillis() - pooled.lastUsedMillis;
+            if (idleMillis < healthCheckAfterMillis || pooled.transport.isConnected()) {
+                reused.incrementAndGet();
+                return pooled;
+            }
+            // isConnected() sent a NOOP and the server did not answer
+            healthCheckFailures.incrementAndGet();
+            close(pooled);
+        }
+        return connect(sender);
+    }
+
+    private PooledTransport connect(JavaMailSenderImpl sender) throws MessagingException {
+        Session session = sender.getSession();
+        Transport transport = session.getTransport(sender.getProtocol() != null ? sender.getProtocol() : "smtp");
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        created.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            // Already broken; nothing to clean up
+        }
+        closed.incrementAndGet();
+    }
+
+    /**
+     * Close connections that have sat idle past max-idle
+     */
+    @Scheduled(fixedDelayString = "${mail.pool.evict-interval-ms:60000}")
+    public void evictIdleConnections() {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        List<PooledTransport> stale = new ArrayList<>();
+        for (Iterator<PooledTransport> it = idle.iterator(); it.hasNext(); ) {
+            PooledTransport pooled = it.next();
+            if (pooled.lastUsedMillis < cutoff && idle.removeFirstOccurrence(pooled)) {
+                stale.add(pooled);
+            }
+        }
+        stale.forEach(this::close);
+    }
+
+    /**
+     * Pool size and connection reuse counters
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled && mailSender instanceof JavaMailSenderImpl);
+        stats.put("maxConnections", maxConnections);
+        stats.put("idleConnections", idle.size());
+        stats.put("activeConnections", Math.max(1, maxConnections) - permits.availablePermits());
+        stats.put("connectionsCreated", created.get());
+        stats.put("connectionsReused", reused.get());
+        stats.put("connectionsClosed", closed.get());
+        stats.put("healthCheckFailures", healthCheckFailures.get());
+        stats.put("sent", sent.get());
+        stats.put("failed", failed.get());
+        stats.put("fallbackSends", fallbackSends.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+}
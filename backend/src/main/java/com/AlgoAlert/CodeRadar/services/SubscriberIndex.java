@@ -0,0 +1,266 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.User;
+import com.AlgoAlert.CodeRadar.repo.UserRepository;
+import com.AlgoAlert.CodeRadar.util.PlatformKeys;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory map from platform key to the users who want reminders for it.
+ * Users without platform preferences are in a wildcard set and receive every platform.
+ * Fan-out is proportional to the number of recipients, not to the user base. The index is
+ * kept current from Mongo save/delete events on User and fully reloaded on a slow schedule,
+ * which catches writes those events do not see. It also tracks which reminder lead times any
+ * subscriber wants, and publishes a {@link ReminderLeadTimesChangedEvent} when that set changes.
+ */
+@Service
+public class SubscriberIndex extends AbstractMongoEventListener<User> {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Lead times for users who have not chosen their own
+    @Value("${notifications.lead-minutes:720}")
+    private List<Integer> defaultLeadMinutes;
+
+    // Trimmed copies holding only id, email, names and platforms
+    private final Map<String, User> subscribers = new HashMap<>();
+    private final Map<String, Set<String>> userIdsByPlatform = new HashMap<>();
+    private final Set<String> wildcardUserIds = new LinkedHashSet<>();
+    // Subscriber count per lead time; its key set is what the scheduler needs triggers for
+    private final Map<Integer, Integer> leadTimeCounts = new TreeMap<>();
+
+    private boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            System.err.println("Error loading notification subscribers: " + e.getMessage());
+        }
+    }
+
+    // Full reload as a safety net for writes that bypass the repository (other instances, manual edits)
+    @Scheduled(fixedRateString = "${notifications.subscriber-index.reload-ms:3600000}",
+            initialDelayString = "${notifications.subscriber-index.reload-ms:3600000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            System.err.println("Error reloading notification subscribers: " + e.getMessage());
+        }
+    }
+
+    public void reload() {
+        Set<Integer> before;
+        Set<Integer> after;
+        synchronized (this) {
+            before = Set.copyOf(leadTimeCounts.keySet());
+            load();
+            after = Set.copyOf(leadTimeCounts.keySet());
+        }
+        publishIfChanged(before, after);
+    }
+
+    private void load() {
+        subscribers.clear();
+        userIdsByPlatform.clear();
+        wildcardUserIds.clear();
+        leadTimeCounts.clear();
+        // The query already filters on emailPrefs, which the projection leaves out
+        for (User user : userRepository.findNotificationSubscribers()) {
+            add(user);
+        }
+        loaded = true;
+        System.out.println("Subscriber index loaded with " + subscribers.size() + " users");
+    }
+
+    /**
+     * Users to notify about a contest on the given platform, whatever their lead times
+     */
+    public synchronized List<User> subscribersFor(String platform) {
+        return subscribersFor(platform, null);
+    }
+
+    /**
+     * Users to notify about a contest on the given platform who want a reminder this many minutes ahead
+     */
+    public synchronized List<User> subscribersFor(String platform, Integer leadMinutes) {
+        ensureLoaded();
+        Set<String> platformUserIds = userIdsByPlatform.getOrDefault(PlatformKeys.normalize(platform), Set.of());
+        List<User> recipients = new ArrayList<>(platformUserIds.size() + wildcardUserIds.size());
+        for (String userId : platformUserIds) {
+            addIfWanted(recipients, subscribers.get(userId), leadMinutes);
+        }
+        for (String userId : wildcardUserIds) {
+            addIfWanted(recipients, subscribers.get(userId), leadMinutes);
+        }
+        return recipients;
+    }
+
+    private void addIfWanted(List<User> recipients, User user, Integer leadMinutes) {
+        if (leadMinutes == null || leadTimesOf(user).contains(leadMinutes)) {
+            recipients.add(user);
+        }
+    }
+
+    /**
+     * Every lead time at least one subscriber wants
+     */
+    public synchronized Set<Integer> leadTimes() {
+        ensureLoaded();
+        return Set.copyOf(leadTimeCounts.keySet());
+    }
+
+    private List<Integer> leadTimesOf(User user) {
+        List<Integer> leads = user.getReminderLeadMinutes();
+        return leads == null || leads.isEmpty() ? defaultLeadMinutes : leads;
+    }
+
+    private void publishIfChanged(Set<Integer> before, Set<Integer> after) {
+        if (!before.equals(after)) {
+            eventPublisher.publishEvent(new ReminderLeadTimesChangedEvent(after));
+        }
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return subscribers.size();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User user = event.getSource();
+        if (user.getId() == null) {
+            return;
+        }
+        Set<Integer> before;
+        Set<Integer> after;
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            before = Set.copyOf(leadTimeCounts.keySet());
+            remove(user.getId());
+            if (user.isEmailPrefs()) {
+                add(user);
+            }
+            after = Set.copyOf(leadTimeCounts.keySet());
+        }
+        // Outside the lock: listeners may call back into the index
+        publishIfChanged(before, after);
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Document filter = event.getSource();
+        Object id = filter.get("_id");
+        if (id == null || id instanceof Document) {
+            // Deleted by a query we cannot map to single users
+            if (loaded) {
+                reload();
+            }
+            return;
+        }
+        Set<Integer> before;
+        Set<Integer> after;
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            before = Set.copyOf(leadTimeCounts.keySet());
+            remove(id.toString());
+            after = Set.copyOf(leadTimeCounts.keySet());
+        }
+        publishIfChanged(before, after);
+    }
+
+    // First use before the ready event; callers already see the loaded lead times, so nothing is published
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private void add(User user) {
+        if (user.getId() == null || user.getEmail() == null || user.getEmail().isEmpty()) {
+            return;
+        }
+
+        User subscriber = User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .username(user.getUsername())
+                .favPlatforms(user.getFavPlatforms())
+                .reminderLeadMinutes(user.getReminderLeadMinutes())
+                .emailPrefs(true)
+                .build();
+        subscribers.put(subscriber.getId(), subscriber);
+        for (Integer lead : leadTimesOf(subscriber)) {
+            leadTimeCounts.merge(lead, 1, Integer::sum);
+        }
+
+        Set<String> platformKeys = new LinkedHashSet<>();
+        if (user.getFavPlatforms() != null) {
+            for (String platform : user.getFavPlatforms()) {
+                String key = PlatformKeys.normalize(platform);
+                if (key != null && !key.isEmpty()) {
+                    platformKeys.add(key);
+                }
+            }
+        }
+
+        if (platformKeys.isEmpty()) {
+            wildcardUserIds.add(subscriber.getId());
+        } else {
+            for (String key : platformKeys) {
+                userIdsByPlatform.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(subscriber.getId());
+            }
+        }
+    }
+
+    private void remove(String userId) {
+        User removed = subscribers.remove(userId);
+        if (removed == null) {
+            return;
+        }
+        wildcardUserIds.remove(userId);
+        for (Integer lead : leadTimesOf(removed)) {
+            leadTimeCounts.computeIfPresent(lead, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        if (removed.getFavPlatforms() != null) {
+            for (String platform : removed.getFavPlatforms()) {
+                Set<String> userIds = userIdsByPlatform.get(PlatformKeys.normalize(platform));
+                if (userIds != null) {
+                    userIds.remove(userId);
+                    if (userIds.isEmpty()) {
+                        userIdsByPlatform.remove(PlatformKeys.normalize(platform));
+                    }
+                }
+            }
+        }
+    }
+}
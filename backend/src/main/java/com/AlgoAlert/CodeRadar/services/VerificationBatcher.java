@@ -0,0 +1,124 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.enums.HandleVerificationStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Coalesces handle checks for platforms with a bulk lookup API.
+ * The first check for a platform opens a batch. Checks arriving within the window join it, and
+ * repeated handles share one slot. The batch is sent as a single request when the window ends or
+ * the batch is full, and each result is handed back to the callers waiting for that handle.
+ */
+final class VerificationBatcher {
+
+    private static final class Batch {
+        private final Map<String, CompletableFuture<HandleVerificationStatus>> waiters = new LinkedHashMap<>();
+    }
+
+    private static final class PlatformStats {
+        private final LongAdder checks = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+    }
+
+    // (platform, handles) -> status per handle; handles missing from the result are UNKNOWN
+    private final BiFunction<String, List<String>, Map<String, HandleVerificationStatus>> batchVerifier;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private final Map<String, Batch> openBatches = new HashMap<>();
+    private final Map<String, PlatformStats> stats = new ConcurrentHashMap<>();
+
+    VerificationBatcher(BiFunction<String, List<String>, Map<String, HandleVerificationStatus>> batchVerifier,
+                        long windowMillis, int maxBatchSize, Executor executor) {
+        this.batchVerifier = batchVerifier;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Queue a check into the platform's open batch; completes once that batch has been sent
+     */
+    CompletableFuture<HandleVerificationStatus> submit(String handle, String platform) {
+        stats.computeIfAbsent(platform, p -> new PlatformStats()).checks.increment();
+
+        CompletableFuture<HandleVerificationStatus> future;
+        Batch full = null;
+        synchronized (lock) {
+            Batch batch = openBatches.get(platform);
+            if (batch == null) {
+                Batch opened = new Batch();
+                openBatches.put(platform, opened);
+                batch = opened;
+                CompletableFuture.delayedExecutor(windowMillis, TimeUnit.MILLISECONDS, executor)
+                        .execute(() -> flushIfOpen(platform, opened));
+            }
+            future = batch.waiters.computeIfAbsent(handle, h -> new CompletableFuture<>());
+            if (batch.waiters.size() >= maxBatchSize) {
+                openBatches.remove(platform);
+                full = batch;
+            }
+        }
+
+        if (full != null) {
+            Batch toSend = full;
+            executor.execute(() -> send(platform, toSend));
+        }
+        return future;
+    }
+
+    // The window timer fires even for batches that were already sent because they filled up
+    private void flushIfOpen(String platform, Batch batch) {
+        synchronized (lock) {
+            if (openBatches.get(platform) != batch) {
+                return;
+            }
+            openBatches.remove(platform);
+        }
+        send(platform, batch);
+    }
+
+    private void send(String platform, Batch batch) {
+        stats.get(platform).batches.increment();
+        Map<String, HandleVerificationStatus> results;
+        try {
+            results = batchVerifier.apply(platform, new ArrayList<>(batch.waiters.keySet()));
+        } catch (Exception e) {
+            results = Map.of();
+        }
+        for (Map.Entry<String, CompletableFuture<HandleVerificationStatus>> waiter : batch.waiters.entrySet()) {
+            waiter.getValue().complete(results.getOrDefault(waiter.getKey(), HandleVerificationStatus.UNKNOWN));
+        }
+    }
+
+    /**
+     * Checks submitted and requests sent per platform
+     */
+    Map<String, Object> getStats() {
+        Map<String, Object> platforms = new TreeMap<>();
+        stats.forEach((platform, platformStats) -> {
+            long checks = platformStats.checks.sum();
+            long batches = platformStats.batches.sum();
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("checks", checks);
+            entry.put("requests", batches);
+            entry.put("checksPerRequest", batches == 0 ? 0.0 : (double) checks / batches);
+            platforms.put(platform, entry);
+        });
+        return platforms;
+    }
+}
@@ -0,0 +1,149 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.enums.HandleVerificationStatus;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Handle verification results keyed by (platform, normalized handle).
+ * A found handle is kept for a long time and a missing one only briefly, because the user may be
+ * about to register it. A failed check (UNKNOWN) is never kept. Once an entry is older than the refresh
+ * interval, the next read still returns it but triggers a background re-check, so a recently checked
+ * handle never waits on the platform. A refresh that fails keeps the previous result.
+ * The cache holds futures: a miss only installs the pending check, so no platform call ever runs or
+ * waits inside the cache's map locks, and concurrent readers of the same handle share one check.
+ */
+final class VerificationCache {
+
+    private record Key(String platform, String handle) {
+    }
+
+    private static final class PlatformStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder found = new LongAdder();
+        private final LongAdder notFound = new LongAdder();
+        private final LongAdder unknown = new LongAdder();
+        private final LongAdder refreshes = new LongAdder();
+    }
+
+    private final BiFunction<String, String, CompletableFuture<HandleVerificationStatus>> verifier;
+    private final AsyncLoadingCache<Key, HandleVerificationStatus> cache;
+    private final Map<String, PlatformStats> stats = new ConcurrentHashMap<>();
+
+    VerificationCache(BiFunction<String, String, CompletableFuture<HandleVerificationStatus>> verifier, long maximumSize,
+                      Duration foundTtl, Duration notFoundTtl, Duration refreshAfter, Executor refreshExecutor) {
+        this.verifier = verifier;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Key, HandleVerificationStatus>() {
+                    @Override
+                    public long expireAfterCreate(Key key, HandleVerificationStatus status, long currentTime) {
+                        return ttl(status, foundTtl, notFoundTtl);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, HandleVerificationStatus status, long currentTime,
+                                                  long currentDuration) {
+                        return ttl(status, foundTtl, notFoundTtl);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, HandleVerificationStatus status, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .refreshAfterWrite(refreshAfter)
+                .executor(refreshExecutor)
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<HandleVerificationStatus> asyncLoad(Key key, Executor executor) {
+                        return check(key);
+                    }
+
+                    @Override
+                    public CompletableFuture<HandleVerificationStatus> asyncReload(Key key, HandleVerificationStatus previous,
+                                                                                   Executor executor) {
+                        statsFor(key.platform()).refreshes.increment();
+                        return check(key).thenApply(status ->
+                                status == HandleVerificationStatus.UNKNOWN ? previous : status);
+                    }
+                });
+    }
+
+    private static long ttl(HandleVerificationStatus status, Duration foundTtl, Duration notFoundTtl) {
+        return switch (status) {
+            case FOUND -> foundTtl.toNanos();
+            case NOT_FOUND -> notFoundTtl.toNanos();
+            case UNKNOWN -> 0;
+        };
+    }
+
+    private CompletableFuture<HandleVerificationStatus> check(Key key) {
+        return verifier.apply(key.handle(), key.platform())
+                .exceptionally(e -> HandleVerificationStatus.UNKNOWN)
+                .thenApply(status -> {
+                    PlatformStats platformStats = statsFor(key.platform());
+                    switch (status) {
+                        case FOUND -> platformStats.found.increment();
+                        case NOT_FOUND -> platformStats.notFound.increment();
+                        case UNKNOWN -> platformStats.unknown.increment();
+                    }
+                    return status;
+                });
+    }
+
+    CompletableFuture<HandleVerificationStatus> get(String handle, String platform) {
+        Key key = new Key(platform.toLowerCase(Locale.ROOT), handle.trim().toLowerCase(Locale.ROOT));
+        CompletableFuture<HandleVerificationStatus> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            statsFor(key.platform()).hits.increment();
+            return cached;
+        }
+        statsFor(key.platform()).misses.increment();
+        return cache.get(key);
+    }
+
+    private PlatformStats statsFor(String platform) {
+        return stats.computeIfAbsent(platform, p -> new PlatformStats());
+    }
+
+    /**
+     * Entry count plus hit, miss and outcome counters per platform
+     */
+    Map<String, Object> getStats() {
+        Map<String, Object> platforms = new TreeMap<>();
+        stats.forEach((platform, platformStats) -> {
+            long hits = platformStats.hits.sum();
+            long misses = platformStats.misses.sum();
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("hits", hits);
+            entry.put("misses", misses);
+            entry.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            entry.put("found", platformStats.found.sum());
+            entry.put("notFound", platformStats.notFound.sum());
+            entry.put("unknown", platformStats.unknown.sum());
+            entry.put("backgroundRefreshes", platformStats.refreshes.sum());
+            platforms.put(platform, entry);
+        });
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("platforms", platforms);
+        return result;
+    }
+}
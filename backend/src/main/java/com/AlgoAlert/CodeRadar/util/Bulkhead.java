@@ -0,0 +1,50 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many calls to one dependency run at once.
+ * A caller that cannot get a slot within the wait time is rejected instead of queueing, so a slow
+ * dependency holds at most its own slots and never the threads of callers waiting on other ones.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore slots;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(int maxConcurrent, long maxWaitMillis) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Bulkhead size must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.slots = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Take a slot, waiting at most the configured time; the caller must release it when done
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    public int inUse() {
+        return maxConcurrent - slots.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OkHttp interceptor that caps concurrent requests per host.
+ * OkHttp's Dispatcher only limits asynchronous enqueue() calls, and everything in this app uses
+ * synchronous execute(), so the cap is enforced here. A request that cannot get a slot within the
+ * wait time fails with an IOException instead of queueing indefinitely.
+ */
+public class HostConcurrencyLimiter implements Interceptor {
+
+    private final int maxRequestsPerHost;
+    private final long maxWaitMillis;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public HostConcurrencyLimiter(int maxRequestsPerHost, long maxWaitMillis) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        String host = chain.request().url().host();
+        Semaphore hostPermits = permits.computeIfAbsent(host, h -> new Semaphore(maxRequestsPerHost, true));
+        try {
+            if (!hostPermits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many concurrent requests to " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection slot to " + host);
+        }
+        // The slot covers the exchange until the response is handed back; the body is streamed after that
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            hostPermits.release();
+        }
+    }
+
+    /**
+     * Requests currently in flight per host
+     */
+    public Map<String, Integer> inFlight() {
+        Map<String, Integer> result = new TreeMap<>();
+        permits.forEach((host, hostPermits) -> result.put(host, maxRequestsPerHost - hostPermits.availablePermits()));
+        return result;
+    }
+}
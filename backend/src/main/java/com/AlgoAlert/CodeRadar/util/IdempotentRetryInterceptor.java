@@ -0,0 +1,63 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+
+/**
+ * OkHttp interceptor that retries GET and HEAD requests after an I/O error or a 502/503/504,
+ * with a linear backoff. Other methods are passed through once, since they may not be safe to repeat.
+ */
+public class IdempotentRetryInterceptor implements Interceptor {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD");
+    private static final Set<Integer> RETRYABLE_CODES = Set.of(502, 503, 504);
+
+    private final int maxRetries;
+    private final long backoffMillis;
+
+    public IdempotentRetryInterceptor(int maxRetries, long backoffMillis) {
+        this.maxRetries = maxRetries;
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!IDEMPOTENT_METHODS.contains(request.method())) {
+            return chain.proceed(request);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            boolean lastAttempt = attempt >= maxRetries;
+            try {
+                Response response = chain.proceed(request);
+                if (lastAttempt || !RETRYABLE_CODES.contains(response.code())) {
+                    return response;
+                }
+                response.close();
+            } catch (InterruptedIOException e) {
+                // Timeouts are not retried: the caller's time budget is already spent
+                throw e;
+            } catch (IOException e) {
+                if (lastAttempt || chain.call().isCanceled()) {
+                    throw e;
+                }
+            }
+            backoff(attempt + 1);
+        }
+    }
+
+    private void backoff(int attempt) throws IOException {
+        try {
+            Thread.sleep(backoffMillis * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
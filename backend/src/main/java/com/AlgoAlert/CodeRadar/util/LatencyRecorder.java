@@ -0,0 +1,68 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent latency samples in a fixed ring buffer and reports percentiles over them.
+ * Recording is a short synchronized write; percentiles sort a copy, so they are meant for stats endpoints.
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+    private long count;
+
+    public LatencyRecorder(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Latency recorder capacity must be positive");
+        }
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+        count++;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Sample count plus p50/p90/p99/max in milliseconds over the retained window
+     */
+    public Map<String, Object> snapshot() {
+        long[] window;
+        long total;
+        synchronized (this) {
+            window = Arrays.copyOf(samples, size);
+            total = count;
+        }
+        Arrays.sort(window);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", total);
+        snapshot.put("p50Ms", percentileMillis(window, 0.50));
+        snapshot.put("p90Ms", percentileMillis(window, 0.90));
+        snapshot.put("p99Ms", percentileMillis(window, 0.99));
+        snapshot.put("maxMs", percentileMillis(window, 1.0));
+        return snapshot;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        long nanos = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OkHttp interceptor that records per-host request counts, failures and latency for outbound calls.
+ * Installed inside the retry interceptor, so every attempt is counted on its own.
+ */
+public class OutboundHttpMetrics implements Interceptor {
+
+    private static final class HostStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder ioErrors = new LongAdder();
+        private final LongAdder http2Responses = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+    }
+
+    private final Map<String, HostStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        HostStats hostStats = stats.computeIfAbsent(chain.request().url().host(), h -> new HostStats());
+        hostStats.requests.increment();
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(chain.request());
+            if (response.code() >= 500) {
+                hostStats.serverErrors.increment();
+            } else if (response.code() >= 400) {
+                hostStats.clientErrors.increment();
+            }
+            if (response.protocol() == Protocol.HTTP_2) {
+                hostStats.http2Responses.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            hostStats.ioErrors.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hostStats.totalLatencyNanos.add(elapsed);
+            hostStats.maxLatencyNanos.accumulate(elapsed);
+        }
+    }
+
+    /**
+     * Request, error and latency counters per host, in milliseconds
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> hosts = new TreeMap<>();
+        stats.forEach((host, hostStats) -> {
+            long requests = hostStats.requests.sum();
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("requests", requests);
+            entry.put("clientErrors", hostStats.clientErrors.sum());
+            entry.put("serverErrors", hostStats.serverErrors.sum());
+            entry.put("ioErrors", hostStats.ioErrors.sum());
+            entry.put("http2Responses", hostStats.http2Responses.sum());
+            entry.put("averageLatencyMs", requests == 0 ? 0.0 : hostStats.totalLatencyNanos.sum() / 1_000_000.0 / requests);
+            entry.put("maxLatencyMs", hostStats.maxLatencyNanos.get() / 1_000_000.0);
+            hosts.put(host, entry);
+        });
+        return hosts;
+    }
+}
@@ -0,0 +1,25 @@
+package com.AlgoAlert.CodeRadar.util;
+
+/**
+ * Normalized platform keys used for exact-match lookups in the in-memory contest and subscriber indexes.
+ * "CS Academy", "cs-academy" and "csacademy" all map to "csacademy".
+ */
+public final class PlatformKeys {
+
+    private PlatformKeys() {
+    }
+
+    public static String normalize(String platform) {
+        if (platform == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(platform.length());
+        for (int i = 0; i < platform.length(); i++) {
+            char c = platform.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validation and wording for reminder lead times, in minutes before contest start.
+ */
+public final class ReminderLeadTimes {
+
+    public static final int MIN_LEAD_MINUTES = 5;
+    public static final int MAX_LEAD_MINUTES = 7 * 24 * 60;
+    public static final int MAX_REMINDERS = 6;
+
+    // Lead time recorded for one-off sends (manual, test), so repeating one is deduplicated; below MIN_LEAD_MINUTES
+    public static final int AD_HOC_LEAD_MINUTES = 0;
+
+    private ReminderLeadTimes() {
+    }
+
+    /**
+     * Distinct lead times, longest first; throws IllegalArgumentException for out-of-range values
+     */
+    public static List<Integer> normalize(List<Integer> leadMinutes) {
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer lead : leadMinutes) {
+            if (lead == null || lead < MIN_LEAD_MINUTES || lead > MAX_LEAD_MINUTES) {
+                throw new IllegalArgumentException("Reminder lead times must be between " + MIN_LEAD_MINUTES
+                        + " and " + MAX_LEAD_MINUTES + " minutes");
+            }
+            distinct.add(lead);
+        }
+        if (distinct.size() > MAX_REMINDERS) {
+            throw new IllegalArgumentException("At most " + MAX_REMINDERS + " reminders per contest are allowed");
+        }
+        List<Integer> sorted = new ArrayList<>(distinct);
+        sorted.sort(Comparator.reverseOrder());
+        return sorted;
+    }
+
+    /**
+     * Human wording of a lead time, e.g. "12 hours", "1 day", "10 minutes", "1 hour 30 minutes"
+     */
+    public static String phrase(int leadMinutes) {
+        if (leadMinutes % (24 * 60) == 0) {
+            return plural(leadMinutes / (24 * 60), "day");
+        }
+        int hours = leadMinutes / 60;
+        int minutes = leadMinutes % 60;
+        if (hours == 0) {
+            return plural(minutes, "minute");
+        }
+        return minutes == 0 ? plural(hours, "hour") : plural(hours, "hour") + " " + plural(minutes, "minute");
+    }
+
+    private static String plural(int count, String unit) {
+        return count + " " + unit + (count == 1 ? "" : "s");
+    }
+}
@@ -0,0 +1,75 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe token bucket used to pace outbound calls.
+ * Callers reserve a token up front and then sleep outside the lock until it becomes
+ * available, so waiting threads never block each other while they wait.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(long capacity, double tokensPerSecond) {
+        if (capacity <= 0 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity and rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.availableTokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Create a bucket from a per-minute budget, the unit most third-party APIs document.
+     */
+    public static TokenBucket perMinute(long capacity, double tokensPerMinute) {
+        return new TokenBucket(capacity, tokensPerMinute / 60.0);
+    }
+
+    /**
+     * Block until a token is available
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Take a token only if one is available right now
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (availableTokens >= 1) {
+            availableTokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take a token, going into debt if necessary, and return how long the caller must wait for it
+     */
+    private synchronized long reserve() {
+        refill();
+        availableTokens -= 1;
+        if (availableTokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-availableTokens / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double refilled = (now - lastRefillNanos) * tokensPerNano;
+        availableTokens = Math.min(capacity, availableTokens + refilled);
+        lastRefillNanos = now;
+    }
+}
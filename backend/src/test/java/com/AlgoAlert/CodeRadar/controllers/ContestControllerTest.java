@@ -0,0 +1,78 @@
+package com.AlgoAlert.CodeRadar.controllers;
+
+import com.AlgoAlert.CodeRadar.config.JWTFilter;
+import com.AlgoAlert.CodeRadar.config.SecurityConfig;
+import com.AlgoAlert.CodeRadar.dto.ContestSearchPage;
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.services.ContestFetcherService;
+import com.AlgoAlert.CodeRadar.services.ContestService;
+import com.AlgoAlert.CodeRadar.services.JWTService;
+import com.AlgoAlert.CodeRadar.services.UserDetailsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ContestController.class)
+@Import({SecurityConfig.class, JWTFilter.class})
+class ContestControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private ContestService contestService;
+
+	@MockitoBean
+	private ContestFetcherService contestFetcherService;
+
+	@MockitoBean
+	private JWTService jwtService;
+
+	@MockitoBean
+	private UserDetailsServiceImpl userDetailsService;
+
+	private static List<Contest> contests(int count) {
+		List<Contest> contests = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			contests.add(Contest.builder().id("c" + i).name("Round " + i).platform("Codeforces").build());
+		}
+		return contests;
+	}
+
+	@Test
+	void searchWithoutSizeReturnsEveryMatch() throws Exception {
+		when(contestService.searchContests("round")).thenReturn(new ContestSearchPage("round", 0, 120, 120, contests(120)));
+
+		mockMvc.perform(get("/api/contests/search").param("query", "round"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("X-Total-Count", "120"))
+				.andExpect(jsonPath("$.length()").value(120));
+		verify(contestService, never()).searchContests(anyString(), anyInt(), anyInt());
+	}
+
+	@Test
+	void searchWithSizeReturnsOneClampedPage() throws Exception {
+		when(contestService.searchContests("round", 1, 200)).thenReturn(new ContestSearchPage("round", 1, 200, 450, contests(200)));
+
+		mockMvc.perform(get("/api/contests/search").param("query", "round").param("page", "1").param("size", "5000"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("X-Total-Count", "450"))
+				.andExpect(jsonPath("$.length()").value(200));
+	}
+}
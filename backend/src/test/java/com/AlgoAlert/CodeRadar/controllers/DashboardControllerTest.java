@@ -0,0 +1,118 @@
+package com.AlgoAlert.CodeRadar.controllers;
+
+import com.AlgoAlert.CodeRadar.config.JWTFilter;
+import com.AlgoAlert.CodeRadar.config.SecurityConfig;
+import com.AlgoAlert.CodeRadar.enums.HandleVerificationStatus;
+import com.AlgoAlert.CodeRadar.model.User;
+import com.AlgoAlert.CodeRadar.services.ContestPerformanceService;
+import com.AlgoAlert.CodeRadar.services.ContestService;
+import com.AlgoAlert.CodeRadar.services.JWTService;
+import com.AlgoAlert.CodeRadar.services.PlatformVerificationService;
+import com.AlgoAlert.CodeRadar.services.UserDetailsServiceImpl;
+import com.AlgoAlert.CodeRadar.services.UserService;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DashboardController.class)
+@Import({SecurityConfig.class, JWTFilter.class})
+class DashboardControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private JWTService jwtService;
+
+	@MockitoBean
+	private UserDetailsServiceImpl userDetailsService;
+
+	@MockitoBean
+	private UserService userService;
+
+	@MockitoBean
+	private ContestService contestService;
+
+	@MockitoBean
+	private ContestPerformanceService performanceService;
+
+	@MockitoBean
+	private PlatformVerificationService platformVerificationService;
+
+	@BeforeEach
+	void setUp() {
+		UserDetails userDetails = org.springframework.security.core.userdetails.User.withUsername("ada")
+				.password("secret")
+				.roles("USER")
+				.build();
+		when(jwtService.extractUsername("token")).thenReturn("ada");
+		when(jwtService.validateToken(eq("token"), any())).thenReturn(true);
+		when(userDetailsService.loadUserByUsername("ada")).thenReturn(userDetails);
+
+		User user = new User();
+		user.setId("u1");
+		user.setUsername("ada");
+		when(userService.findByUsername("ada")).thenReturn(user);
+		when(contestService.getUpcomingContests()).thenReturn(List.of());
+		when(performanceService.getUserParticipationStats("u1")).thenReturn(Map.of());
+		when(performanceService.getUserPerformances("u1")).thenReturn(List.of());
+		when(platformVerificationService.checkPlatformRegistration(any(), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(HandleVerificationStatus.FOUND));
+	}
+
+	@Test
+	void overviewKeepsTheJwtLoginAcrossTheAsyncDispatch() throws Exception {
+		MvcResult started = mockMvc.perform(get("/dashboard/overview").header("Authorization", "Bearer token"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		// The login must travel with the request itself, as it would with a stateless session policy
+		HttpSession session = started.getRequest().getSession(false);
+		if (session != null) {
+			session.invalidate();
+		}
+
+		// A container re-dispatches on another thread, so nothing may carry over through thread-locals
+		CompletableFuture<ResultActions> dispatched = CompletableFuture.supplyAsync(() -> {
+			try {
+				return mockMvc.perform(asyncDispatch(started));
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		});
+
+		dispatched.get(10, TimeUnit.SECONDS)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.sectionStatus.upcomingContests").value("ok"))
+				.andExpect(jsonPath("$.platformRegistrationStatus.codeforces").value(true));
+	}
+
+	@Test
+	void overviewWithoutTokenIsRejected() throws Exception {
+		mockMvc.perform(get("/dashboard/overview"))
+				.andExpect(status().isUnauthorized());
+	}
+}
@@ -0,0 +1,124 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time and allocation per clist.by page: the streaming parser against the old tree-model parse, which read
+ * the body into a String, built the whole tree with readTree and then walked objects.
+ * Opt-in, since it only reports numbers: mvn test -Dtest=ClistResponseParserBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClistResponseParserBenchmarkTest {
+
+	private static final int WARMUP_PARSES = 200;
+	private static final int MEASURED_PARSES = 200;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private ContestFetcherService fetcher;
+	private Method parseContestFromClist;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fetcher = new ContestFetcherService(new OkHttpClient());
+		ReflectionTestUtils.setField(fetcher, "clistApiUrl", "https://clist.by/api/v4/");
+		ReflectionTestUtils.setField(fetcher, "clistUsername", "user");
+		ReflectionTestUtils.setField(fetcher, "clistApiKey", "key");
+		// Resolved once so the baseline does not pay a method lookup per contest
+		parseContestFromClist = ContestFetcherService.class.getDeclaredMethod("parseContestFromClist", JsonNode.class);
+		parseContestFromClist.setAccessible(true);
+	}
+
+	// A page shaped like clist.by's contest endpoint, with the fields the parser skips as well as the ones it reads
+	private static byte[] page(int contests) {
+		StringBuilder json = new StringBuilder("{\"meta\": {\"limit\": ").append(contests)
+				.append(", \"offset\": 0, \"next\": \"/api/v4/contest/?offset=").append(contests)
+				.append("\", \"total_count\": null}, \"objects\": [");
+		for (int i = 0; i < contests; i++) {
+			if (i > 0) {
+				json.append(", ");
+			}
+			int day = 1 + i % 28;
+			json.append("{\"id\": ").append(50_000_000 + i)
+					.append(", \"resource\": \"codeforces.com\", \"resource_id\": 1, \"host\": \"codeforces.com\"")
+					.append(", \"event\": \"Codeforces Round ").append(i).append(" (Div. 2)\"")
+					.append(", \"start\": \"2099-01-").append(String.format("%02d", day)).append("T14:35:00\"")
+					.append(", \"end\": \"2099-01-").append(String.format("%02d", day)).append("T16:35:00\"")
+					.append(", \"n_statistics\": 0, \"n_problems\": null, \"parsed_at\": null, \"duration\": 7200")
+					.append(", \"href\": \"https://codeforces.com/contests/").append(i).append("\"")
+					.append(", \"problems\": null}");
+		}
+		return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private interface Parse {
+		int contests(byte[] body) throws Exception;
+	}
+
+	private int streaming(byte[] body) throws Exception {
+		List<Contest> contests = new ArrayList<>();
+		fetcher.parseClistResponse(new ByteArrayInputStream(body), contests::add, next -> {
+		});
+		return contests.size();
+	}
+
+	// The pre-streaming path, reached through the same per-contest mapping the streaming parser uses
+	private int treeModel(byte[] body) throws Exception {
+		String responseBody = new String(body, StandardCharsets.UTF_8);
+		JsonNode root = objectMapper.readTree(responseBody);
+		List<Contest> contests = new ArrayList<>();
+		for (JsonNode contestNode : root.get("objects")) {
+			Contest contest = (Contest) parseContestFromClist.invoke(fetcher, contestNode);
+			if (contest != null) {
+				contests.add(contest);
+			}
+		}
+		return contests.size();
+	}
+
+	private void report(String label, int contests, Parse parse) throws Exception {
+		byte[] body = page(contests);
+		for (int i = 0; i < WARMUP_PARSES; i++) {
+			assertThat(parse.contests(body)).isEqualTo(contests);
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+		long started = System.nanoTime();
+		for (int i = 0; i < MEASURED_PARSES; i++) {
+			parse.contests(body);
+		}
+		long elapsed = System.nanoTime() - started;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		System.out.printf("clist page of %d (%d KB), %s: %.3f ms/parse, %d KB allocated/parse%n",
+				contests, body.length / 1024, label, elapsed / 1e6 / MEASURED_PARSES,
+				allocated / 1024 / MEASURED_PARSES);
+	}
+
+	@Test
+	void streamingAgainstTreeModel() throws Exception {
+		for (int contests : new int[]{100, 10_000}) {
+			report("tree model", contests, this::treeModel);
+			report("streaming ", contests, this::streaming);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClistResponseParserTest {
+
+	private static final String META = "\"meta\": {\"limit\": 2, \"offset\": 0, \"next\": \"/api/v4/contest/?offset=2\"}";
+
+	private static final String OBJECTS = "\"objects\": ["
+			+ contestJson("Round 1", "2099-01-01T10:00:00", "2099-01-01T12:00:00")
+			+ ", {\"event\": \"No dates\", \"href\": \"https://codeforces.com/x\", \"resource\": \"codeforces.com\"}, "
+			+ contestJson("Round 2", "2099-01-02T10:00:00", "2099-01-02T12:00:00")
+			+ "]";
+
+	private ContestFetcherService fetcher;
+
+	private final List<String> events = new ArrayList<>();
+
+	private static String contestJson(String name, String start, String end) {
+		return "{\"event\": \"" + name + "\", \"href\": \"https://codeforces.com/contest\", "
+				+ "\"resource\": \"codeforces.com\", \"start\": \"" + start + "\", \"end\": \"" + end + "\", "
+				+ "\"n_statistics\": 0}";
+	}
+
+	@BeforeEach
+	void setUp() {
+		fetcher = new ContestFetcherService(new OkHttpClient());
+		ReflectionTestUtils.setField(fetcher, "clistApiUrl", "https://clist.by/api/v4/");
+		ReflectionTestUtils.setField(fetcher, "clistUsername", "user");
+		ReflectionTestUtils.setField(fetcher, "clistApiKey", "key");
+	}
+
+	private ContestFetcherService.ClistPage parse(String json) throws IOException {
+		return fetcher.parseClistResponse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+				contest -> events.add("contest:" + contest.getName()),
+				next -> events.add("next"));
+	}
+
+	@Test
+	void metaFirstAnnouncesNextPageBeforeAnyContest() throws IOException {
+		ContestFetcherService.ClistPage page = parse("{" + META + ", " + OBJECTS + "}");
+
+		assertThat(events).containsExactly("next", "contest:Round 1", "contest:Round 2");
+		assertThat(page.hasObjects()).isTrue();
+		assertThat(page.objectCount()).isEqualTo(3);
+		assertThat(page.next()).isEqualTo("https://clist.by/api/v4/contest/?offset=2&username=user&api_key=key");
+	}
+
+	@Test
+	void metaAfterObjectsStillYieldsNextPage() throws IOException {
+		ContestFetcherService.ClistPage page = parse("{" + OBJECTS + ", " + META + "}");
+
+		assertThat(events).containsExactly("contest:Round 1", "contest:Round 2", "next");
+		assertThat(page.next()).contains("offset=2");
+	}
+
+	@Test
+	void parsedContestsCarryMappedPlatformAndDuration() throws IOException {
+		List<Contest> contests = new ArrayList<>();
+		fetcher.parseClistResponse(new ByteArrayInputStream(("{" + OBJECTS + "}").getBytes(StandardCharsets.UTF_8)),
+				contests::add, next -> {
+				});
+
+		assertThat(contests).hasSize(2);
+		assertThat(contests.get(0).getPlatform()).isEqualTo("Codeforces");
+		assertThat(contests.get(0).getDurationMinutes()).isEqualTo(120L);
+	}
+
+	@Test
+	void lastPageHasNoNext() throws IOException {
+		ContestFetcherService.ClistPage page = parse("{\"meta\": {\"next\": null}, " + OBJECTS + "}");
+
+		assertThat(page.next()).isNull();
+		assertThat(events).doesNotContain("next");
+	}
+
+	@Test
+	void errorBodyReportsDetailWithoutObjects() throws IOException {
+		ContestFetcherService.ClistPage page = parse("{\"detail\": \"Invalid api key\"}");
+
+		assertThat(page.hasObjects()).isFalse();
+		assertThat(page.detail()).isEqualTo("Invalid api key");
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void nonObjectBodyIsRejected() {
+		assertThatThrownBy(() -> parse("[]")).isInstanceOf(IOException.class);
+	}
+}
@@ -0,0 +1,123 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.util.ReminderLeadTimes;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+/**
+ * Renders/sec for one contest sent to 10k recipients: a full template pass and MIME encode per recipient,
+ * against one shared render whose pre-encoded body part only has the name spliced in.
+ * Opt-in, since it only reports numbers: mvn test -Dtest=ContestEmailRendererBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ContestEmailRendererBenchmarkTest {
+
+	private static final int RECIPIENTS = 10_000;
+	private static final int ROUNDS = 5;
+	private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	private final Contest contest = Contest.builder()
+			.id("c1")
+			.name("Codeforces Round 1000 (Div. 2)")
+			.platform("Codeforces")
+			.url("https://codeforces.com/contest/1000")
+			.startTime(LocalDateTime.of(2099, 1, 1, 10, 0))
+			.endTime(LocalDateTime.of(2099, 1, 1, 12, 0))
+			.durationMinutes(120L)
+			.build();
+
+	private final Session session = Session.getInstance(new Properties());
+
+	private TemplateEngine templateEngine;
+	private ContestEmailRenderer renderer;
+
+	@BeforeEach
+	void setUp() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCacheable(true);
+		templateEngine = new SpringTemplateEngine();
+		templateEngine.setTemplateResolver(resolver);
+
+		renderer = new ContestEmailRenderer();
+		ReflectionTestUtils.setField(renderer, "templateEngine", templateEngine);
+		ReflectionTestUtils.setField(renderer, "appName", "CodeRadar");
+	}
+
+	// The path before renders were shared: one template pass per recipient, encoded when the message is written
+	private MimeBodyPart perRecipientPart(String userName) throws Exception {
+		Context context = new Context();
+		context.setVariable("userName", userName);
+		context.setVariable("contestName", contest.getName());
+		context.setVariable("platform", contest.getPlatform());
+		context.setVariable("contestUrl", contest.getUrl());
+		context.setVariable("startTime", contest.getStartTime().format(DATE_TIME_FORMAT));
+		context.setVariable("endTime", contest.getEndTime().format(DATE_TIME_FORMAT));
+		context.setVariable("duration", contest.getDurationMinutes() + " minutes");
+		context.setVariable("appName", "CodeRadar");
+		context.setVariable("currentYear", LocalDateTime.now().getYear());
+		context.setVariable("timeUntil", ReminderLeadTimes.phrase(30));
+
+		MimeBodyPart part = new MimeBodyPart();
+		part.setText(templateEngine.process("contest-notification", context), "UTF-8", "html");
+		return part;
+	}
+
+	// Writing the message is where the transport pays for encoding, so both paths are timed through it
+	private void write(MimeBodyPart part) throws Exception {
+		MimeMessage message = new MimeMessage(session);
+		message.setContent(new MimeMultipart(part));
+		message.saveChanges();
+		message.writeTo(OutputStream.nullOutputStream());
+	}
+
+	private interface Send {
+		void to(String userName) throws Exception;
+	}
+
+	private double rendersPerSecond(Send send) throws Exception {
+		long started = System.nanoTime();
+		for (int i = 0; i < RECIPIENTS; i++) {
+			send.to("Coder " + i);
+		}
+		return RECIPIENTS / ((System.nanoTime() - started) / 1e9);
+	}
+
+	private double best(Send send) throws Exception {
+		rendersPerSecond(send); // warm-up
+		double best = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			best = Math.max(best, rendersPerSecond(send));
+		}
+		return best;
+	}
+
+	@Test
+	void sharedRenderAgainstPerRecipientRender() throws Exception {
+		double perRecipient = best(userName -> write(perRecipientPart(userName)));
+		double shared = best(userName -> write(renderer.render(contest, 30).htmlPartFor(userName)));
+
+		System.out.printf("Contest email, %d recipients: per-recipient render %.0f/s, shared render %.0f/s (%.1fx)%n",
+				RECIPIENTS, perRecipient, shared, shared / perRecipient);
+	}
+}
@@ -0,0 +1,171 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.util.ReminderLeadTimes;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.internet.MimeUtility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContestEmailRendererTest {
+
+	private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	private final Contest contest = Contest.builder()
+			.id("c1")
+			.name("Round <1> & \"friends\"")
+			.platform("Codeforces")
+			.url("https://codeforces.com/contest/1?a=1&b='2'")
+			.startTime(LocalDateTime.of(2099, 1, 1, 10, 0))
+			.endTime(LocalDateTime.of(2099, 1, 1, 12, 0))
+			.durationMinutes(120L)
+			.build();
+
+	private TemplateEngine templateEngine;
+	private ContestEmailRenderer renderer;
+
+	@BeforeEach
+	void setUp() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		templateEngine = new SpringTemplateEngine();
+		templateEngine.setTemplateResolver(resolver);
+
+		renderer = rendererWith(templateEngine);
+	}
+
+	private static ContestEmailRenderer rendererWith(TemplateEngine engine) {
+		ContestEmailRenderer renderer = new ContestEmailRenderer();
+		ReflectionTestUtils.setField(renderer, "templateEngine", engine);
+		ReflectionTestUtils.setField(renderer, "appName", "CodeRadar");
+		return renderer;
+	}
+
+	// What the template produced before renders were shared: one full pass per recipient
+	private String renderDirectly(String userName, int leadMinutes) {
+		Context context = new Context();
+		context.setVariable("userName", userName);
+		context.setVariable("contestName", contest.getName());
+		context.setVariable("platform", contest.getPlatform());
+		context.setVariable("contestUrl", contest.getUrl());
+		context.setVariable("startTime", contest.getStartTime().format(DATE_TIME_FORMAT));
+		context.setVariable("endTime", contest.getEndTime().format(DATE_TIME_FORMAT));
+		context.setVariable("duration", contest.getDurationMinutes() + " minutes");
+		context.setVariable("appName", "CodeRadar");
+		context.setVariable("currentYear", LocalDateTime.now().getYear());
+		context.setVariable("timeUntil", ReminderLeadTimes.phrase(leadMinutes));
+		return templateEngine.process("contest-notification", context);
+	}
+
+	@Test
+	void splicedBodyMatchesAFullRenderForEveryRecipient() {
+		ContestEmailRenderer.RenderedContestEmail email = renderer.render(contest, 30);
+
+		for (String userName : List.of("Ada", "O'Brien", "<script>alert(1)</script>", "Zoë & co")) {
+			assertThat(email.htmlFor(userName)).isEqualTo(renderDirectly(userName, 30));
+		}
+	}
+
+	// The part as it goes out: inside a saved message, so headers are finalised the way sending does
+	private static byte[] wireBytes(MimeBodyPart part) throws Exception {
+		MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+		message.setContent(new MimeMultipart(part));
+		message.saveChanges();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		message.writeTo(out);
+		return out.toByteArray();
+	}
+
+	private static String decodedHtml(byte[] wire) throws Exception {
+		MimeMessage message = new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(wire));
+		Object html = ((MimeMultipart) message.getContent()).getBodyPart(0).getContent();
+		return ((String) html).replace("\r\n", "\n");
+	}
+
+	@Test
+	void sharedBodyPartDecodesLikeAPerRecipientSetText() throws Exception {
+		ContestEmailRenderer.RenderedContestEmail email = renderer.render(contest, 30);
+
+		for (String userName : List.of("Ada", "O'Brien", "<script>alert(1)</script>", "Zoë & co")) {
+			MimeBodyPart perRecipient = new MimeBodyPart();
+			perRecipient.setText(renderDirectly(userName, 30), "UTF-8", "html");
+
+			byte[] wire = wireBytes(email.htmlPartFor(userName));
+			assertThat(decodedHtml(wire)).isEqualTo(decodedHtml(wireBytes(perRecipient)));
+			assertThat(decodedHtml(wire)).isEqualTo(email.htmlFor(userName).replace("\r\n", "\n"));
+			for (String line : new String(wire, StandardCharsets.US_ASCII).split("\r\n")) {
+				assertThat(line.length()).isLessThanOrEqualTo(76);
+			}
+		}
+	}
+
+	@Test
+	void encodedSubjectDecodesToTheSubject() throws Exception {
+		ContestEmailRenderer.RenderedContestEmail email = renderer.render(contest, 30);
+
+		assertThat(MimeUtility.decodeText(MimeUtility.unfold(email.encodedSubject()))).isEqualTo(email.subject());
+	}
+
+	@Test
+	void missingNameFallsBackToCoder() {
+		assertThat(renderer.render(contest, 30).htmlFor(null)).isEqualTo(renderDirectly("Coder", 30));
+	}
+
+	@Test
+	void rendersOncePerContestAndLeadTime() {
+		ContestEmailRenderer.RenderedContestEmail first = renderer.render(contest, 30);
+
+		assertThat(renderer.render(contest, 30)).isSameAs(first);
+		assertThat(renderer.render(contest, 60)).isNotSameAs(first);
+		Contest renamed = Contest.builder()
+				.id(contest.getId())
+				.name("Renamed")
+				.platform(contest.getPlatform())
+				.url(contest.getUrl())
+				.startTime(contest.getStartTime())
+				.endTime(contest.getEndTime())
+				.durationMinutes(contest.getDurationMinutes())
+				.build();
+		assertThat(renderer.render(renamed, 30)).isNotSameAs(first);
+	}
+
+	@Test
+	void fallbackIsEscapedAndNotCached() {
+		TemplateEngine broken = mock(TemplateEngine.class);
+		when(broken.process(anyString(), any(Context.class))).thenThrow(new IllegalStateException("template missing"));
+		ContestEmailRenderer fallbackRenderer = rendererWith(broken);
+
+		ContestEmailRenderer.RenderedContestEmail first = fallbackRenderer.render(contest, 30);
+		String html = first.htmlFor("Ada");
+
+		assertThat(html).contains("href='https://codeforces.com/contest/1?a=1&amp;b=&#39;2&#39;'");
+		assertThat(html).contains("Round &lt;1&gt; &amp; &quot;friends&quot;");
+		assertThat(fallbackRenderer.render(contest, 30)).isNotSameAs(first);
+	}
+}
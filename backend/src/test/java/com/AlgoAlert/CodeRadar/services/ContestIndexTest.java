@@ -0,0 +1,55 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContestIndexTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+	private static Contest contest(String id, String platform, int startsInHours) {
+		return Contest.builder()
+				.id(id)
+				.name("Round " + id)
+				.platform(platform)
+				.startTime(NOW.plusHours(startsInHours))
+				.endTime(NOW.plusHours(startsInHours + 2))
+				.durationMinutes(120L)
+				.build();
+	}
+
+	private final ContestIndex index = ContestIndex.of(List.of(
+			contest("cf1", "Codeforces", 5),
+			contest("cc1", "CodeChef", 3),
+			contest("csa1", "CS Academy", 1),
+			contest("cf0", "Codeforces", -5)));
+
+	@Test
+	void platformLookupIsExactNotPrefix() {
+		assertThat(index.byPlatform("Code")).isEmpty();
+		assertThat(index.byPlatform("codechef")).extracting(Contest::getId).containsExactly("cc1");
+	}
+
+	@Test
+	void platformLookupIgnoresCaseAndPunctuation() {
+		assertThat(index.byPlatform("cs-academy")).extracting(Contest::getId).containsExactly("csa1");
+		assertThat(index.byPlatform("CODEFORCES")).extracting(Contest::getId).containsExactly("cf0", "cf1");
+	}
+
+	@Test
+	void upcomingByPlatformSkipsStartedContests() {
+		assertThat(index.upcomingByPlatform("codeforces", NOW)).extracting(Contest::getId).containsExactly("cf1");
+	}
+
+	@Test
+	void byPlatformsMergesInStartTimeOrder() {
+		assertThat(index.byPlatforms(List.of("Codeforces", "codechef", "CodeChef")))
+				.extracting(Contest::getId)
+				.containsExactly("cf0", "cc1", "cf1");
+	}
+}
@@ -0,0 +1,78 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContestSearchIndexTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+	private static Contest contest(String id, String name, String platform, int startsInHours) {
+		return Contest.builder()
+				.id(id)
+				.name(name)
+				.platform(platform)
+				.startTime(NOW.plusHours(startsInHours))
+				.endTime(NOW.plusHours(startsInHours + 2))
+				.durationMinutes(120L)
+				.build();
+	}
+
+	private final ContestSearchIndex index = ContestSearchIndex.build(List.of(
+			contest("div2", "Codeforces Round 950 (Div. 2)", "Codeforces", 5),
+			contest("div3", "Codeforces Round 951 (Div. 3)", "Codeforces", 10),
+			contest("abc", "AtCoder Beginner Contest 400", "AtCoder", 3),
+			contest("weekly", "Weekly Contest 450", "LeetCode", 1),
+			contest("cup", "Contestants Cup", "HackerEarth", 20)), null);
+
+	@Test
+	void exactTermsOutrankPrefixes() {
+		// "cup" starts last, so it would lead on start time alone
+		assertThat(index.search("contest")).extracting(Contest::getId).containsExactly("abc", "weekly", "cup");
+		assertThat(index.search("cont")).extracting(Contest::getId).containsExactly("cup", "abc", "weekly");
+	}
+
+	@Test
+	void everyQueryTermMustMatch() {
+		assertThat(index.search("codeforces div 3")).extracting(Contest::getId).containsExactly("div3");
+	}
+
+	@Test
+	void equalScoresPreferTheLaterStart() {
+		assertThat(index.search("codeforces")).extracting(Contest::getId).containsExactly("div3", "div2");
+	}
+
+	@Test
+	void trigramsTolerateTypos() {
+		assertThat(index.search("codefroces")).extracting(Contest::getId).containsExactlyInAnyOrder("div2", "div3");
+		assertThat(index.search("xyzzy")).isEmpty();
+	}
+
+	@Test
+	void blankQueriesAndEmptyIndexesMatchNothing() {
+		assertThat(index.search("  --  ")).isEmpty();
+		assertThat(index.search(null)).isEmpty();
+		assertThat(ContestSearchIndex.build(List.of(), null).search("round")).isEmpty();
+	}
+
+	@Test
+	void tokenizeLowercasesAndDeduplicates() {
+		assertThat(ContestSearchIndex.tokenize("Div. 2 (DIV 2)")).containsExactly("div", "2");
+	}
+
+	@Test
+	void rebuildFromPreviousSnapshotSearchesTheSame() {
+		ContestSearchIndex rebuilt = ContestSearchIndex.build(List.of(
+				contest("div2", "Codeforces Round 950 (Div. 2)", "Codeforces", 5),
+				contest("new", "Starters 200", "CodeChef", 2)), index);
+
+		assertThat(rebuilt.search("div")).extracting(Contest::getId).containsExactly("div2");
+		assertThat(rebuilt.search("starters")).extracting(Contest::getId).containsExactly("new");
+		assertThat(rebuilt.search("weekly")).isEmpty();
+	}
+}
@@ -0,0 +1,148 @@
+package com.AlgoAlert.CodeRadar.services;
+
+import com.AlgoAlert.CodeRadar.model.Contest;
+import com.AlgoAlert.CodeRadar.model.EmailNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailDispatcherTest {
+
+	private static final int SENDS = 6;
+
+	private final EmailService emailService = mock(EmailService.class);
+	private final NotificationOutbox outbox = mock(NotificationOutbox.class);
+	private final ContestIndexService contestIndexService = mock(ContestIndexService.class);
+
+	private final Contest contest = Contest.builder()
+			.id("c1")
+			.name("Round 1")
+			.platform("Codeforces")
+			.startTime(LocalDateTime.now().plusHours(1))
+			.endTime(LocalDateTime.now().plusHours(3))
+			.durationMinutes(120L)
+			.build();
+
+	private EmailDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		when(contestIndexService.current()).thenReturn(ContestIndex.of(List.of(contest)));
+		when(outbox.hasAttemptsLeft(any())).thenReturn(true);
+		when(outbox.renewLease(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		dispatcher = new EmailDispatcher();
+		ReflectionTestUtils.setField(dispatcher, "emailService", emailService);
+		ReflectionTestUtils.setField(dispatcher, "outbox", outbox);
+		ReflectionTestUtils.setField(dispatcher, "contestIndexService", contestIndexService);
+		ReflectionTestUtils.setField(dispatcher, "workerCount", SENDS);
+		ReflectionTestUtils.setField(dispatcher, "queueCapacity", 100);
+		ReflectionTestUtils.setField(dispatcher, "claimBatchSize", 100);
+		ReflectionTestUtils.setField(dispatcher, "pollMillis", 50L);
+		ReflectionTestUtils.setField(dispatcher, "globalPerSecond", 1000.0);
+		ReflectionTestUtils.setField(dispatcher, "globalBurst", 1000L);
+		ReflectionTestUtils.setField(dispatcher, "domainPerSecond", 10.0);
+		ReflectionTestUtils.setField(dispatcher, "domainBurst", 1L);
+		ReflectionTestUtils.setField(dispatcher, "unthrottledDomainList", "gmail.com, Outlook.com");
+	}
+
+	@AfterEach
+	void tearDown() {
+		dispatcher.shutdown();
+	}
+
+	private long millisToSend(String domain) throws Exception {
+		List<EmailNotification> rows = new ArrayList<>();
+		for (int i = 0; i < SENDS; i++) {
+			rows.add(EmailNotification.builder()
+					.id("n" + i)
+					.contestId("c1")
+					.contestStartTime(contest.getStartTime())
+					.emailAddress("user" + i + "@" + domain)
+					.userName("User " + i)
+					.leadMinutes(30)
+					.build());
+		}
+		when(outbox.claim(anyInt())).thenReturn(rows).thenReturn(List.of());
+
+		CountDownLatch sent = new CountDownLatch(SENDS);
+		doAnswer(invocation -> {
+			sent.countDown();
+			return null;
+		}).when(emailService).sendContestEmail(anyString(), anyString(), eq(contest), eq(30));
+
+		long started = System.nanoTime();
+		dispatcher.start();
+		assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+	}
+
+	@Test
+	void smallDomainsArePacedByTheirOwnBucket() throws Exception {
+		// One token up front, the other five arrive 100 ms apart
+		assertThat(millisToSend("example.org")).isGreaterThanOrEqualTo(450L);
+		assertThat(dispatcher.getStats()).containsEntry("domains", 1);
+	}
+
+	@Test
+	void lostLeaseNeverSuppliesTheRecipient() throws Exception {
+		Contest later = Contest.builder()
+				.id("c2")
+				.name("Round 2")
+				.platform("Codeforces")
+				.startTime(contest.getStartTime().plusHours(1))
+				.endTime(contest.getEndTime().plusHours(1))
+				.durationMinutes(120L)
+				.build();
+		when(contestIndexService.current()).thenReturn(ContestIndex.of(List.of(contest, later)));
+
+		// Two rows of one digest; the first was re-claimed by another worker while this one waited
+		EmailNotification lost = EmailNotification.builder()
+				.id("lost").contestId("c1").contestStartTime(contest.getStartTime())
+				.emailAddress("old@example.org").userName("Old").leadMinutes(30)
+				.digestKey("u1@w").leaseOwner("me").build();
+		EmailNotification kept = EmailNotification.builder()
+				.id("kept").contestId("c2").contestStartTime(later.getStartTime())
+				.emailAddress("new@gmail.com").userName("New").leadMinutes(60)
+				.digestKey("u1@w").leaseOwner("me").build();
+		when(outbox.claim(anyInt())).thenReturn(List.of(lost)).thenReturn(List.of());
+		when(outbox.claimDigest("u1@w", "me")).thenReturn(List.of(lost, kept));
+		when(outbox.renewLease(anyList())).thenReturn(List.of(kept));
+
+		CountDownLatch sent = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			sent.countDown();
+			return null;
+		}).when(emailService).sendContestEmail(anyString(), anyString(), any(), anyInt());
+
+		dispatcher.start();
+		assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+
+		verify(emailService).sendContestEmail("new@gmail.com", "New", later, 60);
+		assertThat(dispatcher.getStats()).containsEntry("leasesLost", 1L);
+	}
+
+	@Test
+	void majorProvidersOnlyShareTheGlobalBucket() throws Exception {
+		assertThat(millisToSend("outlook.com")).isLessThan(400L);
+		assertThat(dispatcher.getStats()).containsEntry("domains", 0);
+	}
+}
@@ -0,0 +1,47 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+	@Test
+	void rejectsNonPositiveSize() {
+		assertThatThrownBy(() -> new Bulkhead(0, 10)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsCallersPastTheCapAndCountsThem() throws InterruptedException {
+		Bulkhead bulkhead = new Bulkhead(2, 20);
+
+		assertThat(bulkhead.tryAcquire()).isTrue();
+		assertThat(bulkhead.tryAcquire()).isTrue();
+		assertThat(bulkhead.inUse()).isEqualTo(2);
+		assertThat(bulkhead.tryAcquire()).isFalse();
+		assertThat(bulkhead.rejectedCount()).isEqualTo(1);
+
+		bulkhead.release();
+		assertThat(bulkhead.inUse()).isEqualTo(1);
+		assertThat(bulkhead.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void waitingCallerGetsASlotReleasedWithinTheWait() throws InterruptedException {
+		Bulkhead bulkhead = new Bulkhead(1, 2000);
+		assertThat(bulkhead.tryAcquire()).isTrue();
+
+		Thread.ofVirtual().start(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			bulkhead.release();
+		});
+
+		assertThat(bulkhead.tryAcquire()).isTrue();
+		assertThat(bulkhead.rejectedCount()).isZero();
+	}
+}
@@ -0,0 +1,60 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+	@Test
+	void rejectsNonPositiveThreshold() {
+		assertThatThrownBy(() -> new CircuitBreaker(0, 10)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void opensAfterConsecutiveFailuresOnly() {
+		CircuitBreaker breaker = new CircuitBreaker(3, 60_000);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onFailure();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.rejectedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void halfOpenLetsOneTrialThroughAndItsSuccessCloses() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker(1, 20);
+		breaker.onFailure();
+		Thread.sleep(40);
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void failedTrialReopens() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker(5, 20);
+		for (int i = 0; i < 5; i++) {
+			breaker.onFailure();
+		}
+		Thread.sleep(40);
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+	}
+}
@@ -0,0 +1,46 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReminderLeadTimesTest {
+
+	@Test
+	void normalizeDeduplicatesAndSortsLongestFirst() {
+		assertThat(ReminderLeadTimes.normalize(List.of(30, 1440, 30, 60))).containsExactly(1440, 60, 30);
+	}
+
+	@Test
+	void normalizeRejectsOutOfRangeAndMissingValues() {
+		assertThatThrownBy(() -> ReminderLeadTimes.normalize(List.of(ReminderLeadTimes.MIN_LEAD_MINUTES - 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ReminderLeadTimes.normalize(List.of(ReminderLeadTimes.MAX_LEAD_MINUTES + 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ReminderLeadTimes.normalize(Arrays.asList(30, null)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void normalizeCapsDistinctRemindersNotDuplicates() {
+		assertThat(ReminderLeadTimes.normalize(List.of(5, 10, 15, 20, 25, 30, 30))).hasSize(ReminderLeadTimes.MAX_REMINDERS);
+		assertThatThrownBy(() -> ReminderLeadTimes.normalize(List.of(5, 10, 15, 20, 25, 30, 35)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void phraseUsesTheLargestWholeUnits() {
+		assertThat(ReminderLeadTimes.phrase(1)).isEqualTo("1 minute");
+		assertThat(ReminderLeadTimes.phrase(10)).isEqualTo("10 minutes");
+		assertThat(ReminderLeadTimes.phrase(60)).isEqualTo("1 hour");
+		assertThat(ReminderLeadTimes.phrase(90)).isEqualTo("1 hour 30 minutes");
+		assertThat(ReminderLeadTimes.phrase(720)).isEqualTo("12 hours");
+		assertThat(ReminderLeadTimes.phrase(1440)).isEqualTo("1 day");
+		assertThat(ReminderLeadTimes.phrase(2 * 1440)).isEqualTo("2 days");
+		assertThat(ReminderLeadTimes.phrase(1500)).isEqualTo("25 hours");
+	}
+}
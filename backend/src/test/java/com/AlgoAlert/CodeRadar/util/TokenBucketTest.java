@@ -0,0 +1,70 @@
+package com.AlgoAlert.CodeRadar.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+	@Test
+	void rejectsNonPositiveCapacityOrRate() {
+		assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void startsFullAndHandsOutExactlyTheBurst() {
+		TokenBucket bucket = new TokenBucket(3, 0.001);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void refillsAtTheConfiguredRate() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1, 4);
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+
+		// One token every 250 ms
+		TimeUnit.MILLISECONDS.sleep(300);
+		assertThat(bucket.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void refillNeverExceedsCapacity() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(2, 1000);
+		TimeUnit.MILLISECONDS.sleep(20);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void acquirePacesCallersPastTheBurst() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(2, 20);
+
+		long started = System.nanoTime();
+		for (int i = 0; i < 6; i++) {
+			bucket.acquire();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+		// Two tokens are free, the other four arrive 50 ms apart
+		assertThat(elapsedMillis).isBetween(180L, 1000L);
+	}
+
+	@Test
+	void perMinuteConvertsToPerSecond() {
+		TokenBucket bucket = TokenBucket.perMinute(1, 60);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+}